@@ -0,0 +1,134 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+
+/**
+ * Meta filtering algorithm for the AllDiffPrec constraint, which selects at each call one of several candidate filters
+ * with a deterministic policy of periodic exploration and greedy exploitation : the reward of a call is the number of values pruned per microsecond
+ * (a failure prunes all the values of the domains), and each candidate keeps an exponential moving average of its rewards.
+ * Each candidate is called once first, then every explorationPeriod-th call selects the candidates in turn,
+ * and the other calls select the candidate with the best average.
+ * As the rewards are measured with the clock, the sequence of selected filters is not reproducible from one run to another.
+ */
+public class AdaptiveFilter extends FilterAllDiffPrec {
+    /**
+     * Default period of the exploration calls.
+     */
+    public static final int DEFAULT_EXPLORATION_PERIOD = 10;
+    // weight of the last reward in the moving averages
+    private static final double DECAY = 0.1;
+
+    private final FilterAllDiffPrec[] candidates;
+    private final int explorationPeriod;
+    private final double[] rewards;
+    private final long[] nbCalls;
+    private long nbTotalCalls;
+
+    public AdaptiveFilter(IntVar[] variables, PrecedenceMatrix precedence, FilterAllDiffPrec... candidates) {
+        this(variables, precedence, DEFAULT_EXPLORATION_PERIOD, candidates);
+    }
+
+    /**
+     * Creates the meta filtering algorithm.
+     *
+     * @param variables the variables
+     * @param precedence the precedence bit-matrix
+     * @param explorationPeriod the period of the calls selecting the candidates in turn
+     * @param candidates the candidate filtering algorithms, on the same variables
+     */
+    public AdaptiveFilter(IntVar[] variables, PrecedenceMatrix precedence, int explorationPeriod, FilterAllDiffPrec... candidates) {
+        super(variables, precedence);
+        if(candidates.length == 0) {
+            throw new IllegalArgumentException("At least one candidate filter is needed");
+        }
+        this.candidates = candidates;
+        this.explorationPeriod = Math.max(1, explorationPeriod);
+        this.rewards = new double[candidates.length];
+        this.nbCalls = new long[candidates.length];
+    }
+
+    @Override
+    public PropagatorPriority getPriority() {
+        PropagatorPriority priority = candidates[0].getPriority();
+        for(FilterAllDiffPrec candidate : candidates) {
+            if(candidate.getPriority().priority > priority.priority) {
+                priority = candidate.getPriority();
+            }
+        }
+        return priority;
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        int mask = 0;
+        for(FilterAllDiffPrec candidate : candidates) {
+            mask |= candidate.getPropagationConditions(vIdx);
+        }
+        return mask == 0 ? IntEventType.all() : mask;
+    }
+
+    /**
+     * Returns the number of calls to the candidate of the given index.
+     *
+     * @param candidate the index of the candidate
+     * @return the number of calls to the candidate
+     */
+    public long getNbCalls(int candidate) {
+        return nbCalls[candidate];
+    }
+
+    private int select() {
+        if(nbTotalCalls < candidates.length) {
+            return (int) nbTotalCalls;
+        }
+        if(nbTotalCalls % explorationPeriod == 0) {
+            return (int) ((nbTotalCalls / explorationPeriod) % candidates.length);
+        }
+        int best = 0;
+        for(int k = 1; k < candidates.length; k++) {
+            if(rewards[k] > rewards[best]) {
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    private long sumDomainSizes() {
+        long sum = 0;
+        for(IntVar variable : variables) {
+            sum += variable.getDomainSize();
+        }
+        return sum;
+    }
+
+    private void reward(int k, long nbPruned, long start) {
+        double micros = Math.max(1.0, (System.nanoTime() - start) / 1000.0);
+        double reward = nbPruned / micros;
+        rewards[k] = nbCalls[k] == 1 ? reward : (1 - DECAY) * rewards[k] + DECAY * reward;
+    }
+
+    @Override
+    public boolean propagate(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
+        int k = select();
+        nbTotalCalls++;
+        nbCalls[k]++;
+        long sizeBefore = sumDomainSizes();
+        long start = System.nanoTime();
+        try {
+            boolean hasFiltered = candidates[k].propagate(precedenceGraph, topologicalTraversal, aCause);
+            reward(k, sizeBefore - sumDomainSizes(), start);
+            return hasFiltered;
+        } catch(ContradictionException e) {
+            reward(k, sizeBefore, start);
+            throw e;
+        }
+    }
+}
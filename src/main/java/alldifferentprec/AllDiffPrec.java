@@ -6,14 +6,14 @@
 package alldifferentprec;
 
 import gnu.trove.set.hash.TIntHashSet;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
-import org.chocosolver.util.objects.graphs.DirectedGraph;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.sort.IntComparator;
 
 /**
  * Filtering algorithm for the AllDiffPrec constraint introduced in the following paper :
@@ -25,12 +25,19 @@ public class AllDiffPrec extends FilterAllDiffPrec {
     private IntUnionFind unionFind;
     private final IntUnionFind unionFindLB;
     private final IntUnionFind unionFindUB;
-    private final ArrayList<Integer> list;
+    // the variables, sorted by increasing ub, then lb, then index
+    private final int[] order;
+    private final ArraySort<?> sorter;
+    // for each variable i, the length of the prefix of order whose walk does not depend on i,
+    // and the variables sorted by increasing prefix length (with the counts of the counting sort)
+    private final int[] prefixes;
+    private final int[] byPrefix;
+    private final int[] counts;
     private final int[] lb;
     private final int[] ub;
     private final int[] ubFilt;
 
-    public AllDiffPrec(IntVar[] variables, boolean[][] precedence) {
+    public AllDiffPrec(IntVar[] variables, PrecedenceMatrix precedence) {
         super(variables, precedence);
         TIntHashSet set = new TIntHashSet();
         TIntHashSet set2 = new TIntHashSet();
@@ -42,10 +49,14 @@ public class AllDiffPrec extends FilterAllDiffPrec {
         }
         unionFindUB = new IntUnionFind(set.toArray());
         unionFindLB = new IntUnionFind(set2.toArray());
-        list = new ArrayList<>();
+        order = new int[variables.length];
         for(int i = 0; i < variables.length; i++) {
-            list.add(i);
+            order[i] = i;
         }
+        sorter = new ArraySort<>(variables.length, false, true);
+        prefixes = new int[variables.length];
+        byPrefix = new int[variables.length];
+        counts = new int[variables.length + 1];
         lb = new int[variables.length];
         ub = new int[variables.length];
         ubFilt = new int[variables.length];
@@ -63,9 +74,9 @@ public class AllDiffPrec extends FilterAllDiffPrec {
 
     private boolean isBefore(boolean filterUb, int i, int j) {
         if(filterUb) {
-            return precedence[i][j];
+            return precedence.isBefore(i, j);
         } else {
-            return precedence[j][i];
+            return precedence.isBefore(j, i);
         }
     }
 
@@ -91,9 +102,9 @@ public class AllDiffPrec extends FilterAllDiffPrec {
         }
     }
 
-    private final Comparator<Integer> comparator = new Comparator<Integer>() {
+    private final IntComparator comparator = new IntComparator() {
         @Override
-        public int compare(Integer o1, Integer o2) {
+        public int compare(int o1, int o2) {
             if(ub[o1] == ub[o2]) {
                 if(lb[o1] == lb[o2]) {
                     return o1 - o2;
@@ -104,52 +115,108 @@ public class AllDiffPrec extends FilterAllDiffPrec {
         }
     };
 
+    /**
+     * Computes, for each variable i, the length of the prefix of order before i or a variable after i,
+     * and sorts the variables by increasing prefix length.
+     */
+    private void computePrefixes(boolean filterUb) {
+        int n = order.length;
+        Arrays.fill(counts, 0);
+        for(int i = 0; i < n; i++) {
+            int k = 0;
+            while(order[k] != i && !isBefore(filterUb, i, order[k])) {
+                k++;
+            }
+            prefixes[i] = k;
+            counts[k + 1]++;
+        }
+        for(int k = 0; k < n; k++) {
+            counts[k + 1] += counts[k];
+        }
+        for(int i = 0; i < n; i++) {
+            byPrefix[counts[prefixes[i]]++] = i;
+        }
+    }
+
+    /**
+     * Moves the bound b from the ub of the (k-1)-th variable of order to the ub of the k-th one, skipping the full sets.
+     */
+    private int advance(int k, int b) {
+        if(k > 0) {
+            for (int l = 0; l < ub[order[k]] - ub[order[k - 1]]; l++) {
+                int idxSet = unionFind.find(b);
+                if (idxSet == -1) {
+                    b++;
+                } else {
+                    b = unionFind.getMax(idxSet) + 1;
+                }
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Processes the k-th variable j of order, which is not the filtered variable, and returns the new bound.
+     *
+     * @param k the position in order
+     * @param j the variable at position k
+     * @param before true iff the filtered variable is before j
+     * @param b the bound
+     * @return the new bound
+     */
+    private int step(int k, int j, boolean before, int b) {
+        b = advance(k, b);
+        int v = -1;
+        if (!before) {
+            int idxSet = unionFind.find(lb[j]);
+            v = unionFind.getMin(idxSet);
+            if(unionFind.find(unionFind.getMax(idxSet) + 1) >= 0) {
+                unionFind.union(v, unionFind.getMax(idxSet) + 1);
+            }
+        }
+        if (k > 0 && (before || v > b || unionFind.find(v) == unionFind.find(b))) {
+            int idxSet = unionFind.find(b - 1);
+            if (idxSet == -1) {
+                b--;
+            } else {
+                b = unionFind.getMin(idxSet);
+            }
+        }
+        return b;
+    }
+
     private boolean filter(boolean filterUb) {
         boolean hasFiltered = false;
-        list.sort(comparator);
-        for (int i = 0; i < variables.length; i++) {
-            unionFind.init();
+        sorter.sort(order, order.length, comparator);
+        computePrefixes(filterUb);
+        // the walks of all the variables share their prefixes : the common walk is extended to the prefix of each variable,
+        // whose own walk is then done from a checkpoint of the union-find, and rolled back
+        unionFind.init();
+        int b = order.length > 0 ? ub[order[0]] + 1 : 0;
+        int kDone = 0;
+        for (int idx = 0; idx < order.length; idx++) {
+            int i = byPrefix[idx];
+            for(; kDone < prefixes[i]; kDone++) {
+                b = step(kDone, order[kDone], false, b);
+            }
+            int mark = unionFind.checkpoint();
             ubFilt[i] = ub[i];
-            int b = ub[list.get(0)] + 1;
+            int bi = b;
             boolean encountered = false;
-            for (int k = 0; k < list.size(); k++) {
-                int j = list.get(k);
+            for (int k = kDone; k < order.length; k++) {
+                int j = order[k];
                 if(j == i) {
                     encountered = true;
-                }
-                if(k > 0) {
-                    for (int l = 0; l < ub[list.get(k)] - ub[list.get(k - 1)]; l++) {
-                        int idxSet = unionFind.find(b);
-                        if (idxSet == -1) {
-                            b++;
-                        } else {
-                            b = unionFind.getMax(idxSet) + 1;
-                        }
-                    }
-                }
-                if(j != i) {
-                    int v = -1;
-                    if (!isBefore(filterUb, i, j)) {
-                        int idxSet = unionFind.find(lb[j]);
-                        v = unionFind.getMin(idxSet);
-                        if(unionFind.find(unionFind.getMax(idxSet) + 1) >= 0) {
-                            unionFind.union(v, unionFind.getMax(idxSet) + 1);
-                        }
-                    }
-                    if (k > 0 && (isBefore(filterUb, i, j) || v > b || unionFind.find(v) == unionFind.find(b))) {
-                        int idxSet = unionFind.find(b - 1);
-                        if (idxSet == -1) {
-                            b--;
-                        } else {
-                            b = unionFind.getMin(idxSet);
-                        }
-                    }
-                    if(encountered && ubFilt[i] > b - 1) {
+                    bi = advance(k, bi);
+                } else {
+                    bi = step(k, j, isBefore(filterUb, i, j), bi);
+                    if(encountered && ubFilt[i] > bi - 1) {
                         hasFiltered = true;
-                        ubFilt[i] = b - 1;
+                        ubFilt[i] = bi - 1;
                     }
                 }
             }
+            unionFind.rollback(mark);
         }
         return hasFiltered;
     }
@@ -201,7 +268,7 @@ public class AllDiffPrec extends FilterAllDiffPrec {
     }
 
     @Override
-    public boolean propagate(DirectedGraph precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
+    public boolean propagate(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
         return propagateBounds(true, aCause) || propagateBounds(false, aCause);
     }
 }
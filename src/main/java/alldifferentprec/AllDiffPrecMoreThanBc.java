@@ -6,16 +6,14 @@
 package alldifferentprec;
 
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.hash.TIntIntHashMap;
 import java.util.Arrays;
-import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
-import org.chocosolver.util.objects.graphs.DirectedGraph;
-import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 
 /**
  * Filtering algorithm for the AllDiffPrec constraint introduced in the following paper :
@@ -24,59 +22,73 @@ import org.chocosolver.util.objects.setDataStructures.ISetIterator;
  * @author Arthur Godet <arth.godet@gmail.com>
  */
 public class AllDiffPrecMoreThanBc extends FilterAllDiffPrec {
+    /**
+     * Number of variables below which the support checks stay sequential, even if a parallelism greater than 1 is given.
+     */
+    public static final int PARALLEL_THRESHOLD = 64;
+
     private final boolean rcFiltering;
+    private final boolean useHopcroftKarp;
 
-    // for augmenting matching (BFS)
-    private final int[] next;
-    private final BitSet in;
-    private final int[] fifo;
     private final int n, m;
-    private final DirectedGraph2 digraph;
-    private final TIntArrayList removedArcs;
-    private final int nbNodes;
-    private final boolean[] matched;
-    private final BitSet free;
-    private final int[] values;
-    private final TIntIntHashMap mapValIdx;
-    private final int[] mins, maxs;
+    // the value val is indexed by val - offset
+    private final int offset;
+    // bipartite graph of the current domains, kept in the trail and shared (read-only during the parallel checks) by the support checkers
+    private final StoredBipartiteGraph domains;
+    // one support checker for the sequential checks, or one per worker for the parallel checks
+    private final SupportChecker[] checkers;
+    // precedence graph as adjacency arrays, which can be read concurrently
+    private DirectedGraph2 lastPrecedenceGraph;
+    private int[][] successors;
+    private int[][] predecessors;
+    // solutions found by the support checks, to skip the checks of the pairs they still support
+    private final ResidualSupports residualSupports;
 
-    public AllDiffPrecMoreThanBc(IntVar[] variables, boolean[][] precedence) {
+    public AllDiffPrecMoreThanBc(IntVar[] variables, PrecedenceMatrix precedence) {
         this(variables, precedence, false);
     }
 
-    public AllDiffPrecMoreThanBc(IntVar[] variables, boolean[][] precedence, boolean rcFiltering) {
+    public AllDiffPrecMoreThanBc(IntVar[] variables, PrecedenceMatrix precedence, boolean rcFiltering) {
+        this(variables, precedence, rcFiltering, false);
+    }
+
+    public AllDiffPrecMoreThanBc(IntVar[] variables, PrecedenceMatrix precedence, boolean rcFiltering, boolean useHopcroftKarp) {
+        this(variables, precedence, rcFiltering, useHopcroftKarp, 1);
+    }
+
+    /**
+     * Creates the filtering algorithm.
+     * If parallelism is greater than 1 and there are at least PARALLEL_THRESHOLD variables, the variables are split
+     * between parallelism workers of the common fork-join pool, which check their supports against the domains
+     * at the start of the call. The removals are then applied by the calling thread.
+     *
+     * @param variables the variables
+     * @param precedence the precedence bit-matrix
+     * @param rcFiltering true iff range consistency is enforced (bound consistency otherwise)
+     * @param useHopcroftKarp true iff the support checks compute the maximum matchings with the Hopcroft-Karp algorithm
+     * @param parallelism the number of workers checking the supports (1 for sequential checks)
+     */
+    public AllDiffPrecMoreThanBc(IntVar[] variables, PrecedenceMatrix precedence, boolean rcFiltering, boolean useHopcroftKarp, int parallelism) {
         super(variables, precedence);
         this.rcFiltering = rcFiltering;
+        this.useHopcroftKarp = useHopcroftKarp;
         this.n = variables.length;
 
-        TIntArrayList list = new TIntArrayList();
-        for(int i = 0; i < n; i++) {
-            for(int v = variables[i].getLB(); v <= variables[i].getUB(); v = variables[i].nextValue(v)) {
-                if(!list.contains(v)) {
-                    list.add(v);
-                }
-            }
-        }
-        list.sort();
-        values = list.toArray();
-        m = values.length;
-        mapValIdx = new TIntIntHashMap();
-        for(int j = 0; j < m; j++) {
-            mapValIdx.put(values[j], j);
+        int minValue = Integer.MAX_VALUE;
+        int maxValue = Integer.MIN_VALUE;
+        for(IntVar variable : variables) {
+            minValue = Math.min(minValue, variable.getLB());
+            maxValue = Math.max(maxValue, variable.getUB());
         }
+        this.offset = n > 0 ? minValue : 0;
+        this.m = n > 0 ? maxValue - minValue + 1 : 0;
 
-        matched = new boolean[n + m];
-        fifo = new int[n + m];
-        free = new BitSet(n + m);
-        next = new int[n + m];
-        in = new BitSet(n + m);
-
-        digraph = new DirectedGraph2(n + m);
-
-        mins = new int[n];
-        maxs = new int[n];
-        removedArcs = new TIntArrayList();
-        nbNodes = n + m;
+        domains = n > 0 ? new StoredBipartiteGraph(variables[0].getModel().getEnvironment(), variables, offset, m) : null;
+        residualSupports = new ResidualSupports(n, offset, offset + m - 1, n);
+        checkers = new SupportChecker[n >= PARALLEL_THRESHOLD ? Math.max(1, Math.min(parallelism, n)) : 1];
+        for(int k = 0; k < checkers.length; k++) {
+            checkers[k] = new SupportChecker();
+        }
     }
 
     @Override
@@ -89,272 +101,406 @@ public class AllDiffPrecMoreThanBc extends FilterAllDiffPrec {
         return IntEventType.all();
     }
 
-    private int augmentPath_BFS(int root) {
-        in.clear();
-        int indexFirst = 0, indexLast = 0;
-        fifo[indexLast++] = root;
-        int x;
-        ISetIterator succs;
-        while (indexFirst != indexLast) {
-            x = fifo[indexFirst++];
-            succs = digraph.getPredOf(x).iterator();
-            while (succs.hasNext()) {
-                int y = succs.nextInt();
-                if (!in.get(y)) {
-                    next[y] = x;
-                    fifo[indexLast++] = y;
-                    in.set(y);
-                    if (free.get(y)) {
-                        return y;
-                    }
-                }
-            }
-        }
-        return -1;
-    }
-
-    private boolean tryToMatch(int i) {
-        int mate = augmentPath_BFS(i);
-        if (mate != -1) {
-            free.clear(mate);
-            free.clear(i);
-            int tmp = mate;
-            while (tmp != i) {
-                digraph.removeArc(tmp, next[tmp]);
-                digraph.addArc(next[tmp], tmp);
-                tmp = next[tmp];
+    private void updatePrecedenceArrays(DirectedGraph2 precedenceGraph) {
+        if(precedenceGraph != lastPrecedenceGraph) {
+            successors = new int[n][];
+            predecessors = new int[n][];
+            for(int i = 0; i < n; i++) {
+                successors[i] = precedenceGraph.getSuccOf(i).toArray();
+                predecessors[i] = precedenceGraph.getPredOf(i).toArray();
             }
-            return true;
+            lastPrecedenceGraph = precedenceGraph;
         }
-        return false;
     }
 
     /**
-     * Builds the bipartite graph induced by the instantiation var <-- val.
-     *
-     * @param var the variable
-     * @param val the value
-     * @return true iff the bipartite graph has been built without any domain's wipe-out
+     * Scratch structures to check the supports of the variables : the bipartite graph induced by the instantiation
+     * being checked and the matching structures. The removals found and the solutions of the successful checks
+     * are recorded, so that a worker thread can check supports without modifying the variables or the residual supports.
      */
-    private boolean buildDigraph(int var, int val) {
-        ISetIterator iterator = digraph.getPredOf(var).iterator();
-        int idxVal = mapValIdx.get(val) + n;
-        while(iterator.hasNext()) {
-            int idxVal2 = iterator.nextInt();
-            if(idxVal2 != idxVal) {
-                digraph.removeArc(idxVal2, var);
-                removedArcs.add(var + nbNodes * idxVal2);
+    private final class SupportChecker {
+        private final BipartiteGraph graph;
+        private final int[] mins, maxs;
+        // for augmenting matching (BFS)
+        private final int[] mateOfVar;
+        private final int[] mateOfVal;
+        private final int[] parent;
+        private final int[] fifo;
+        private final long[] visited;
+        // for Hopcroft-Karp matching, on the adjacency lists of the variables
+        private final HopcroftKarp hopcroftKarp;
+        private final int[] adjStart;
+        private final int[] adj;
+        // base matching (value index of each variable, -1 if unmatched), updated with the last perfect matching found
+        private final int[] baseMate;
+        private final int[] solution;
+        // pairs (var, val) without support, and solutions found, by the last call to checkVariables
+        private final TIntArrayList removals;
+        private final TIntArrayList solutions;
+
+        private SupportChecker() {
+            graph = new BipartiteGraph(n, m);
+            mins = new int[n];
+            maxs = new int[n];
+            mateOfVar = new int[n];
+            mateOfVal = new int[m];
+            parent = new int[m];
+            fifo = new int[n];
+            visited = new long[graph.getNbWords()];
+            baseMate = new int[n];
+            Arrays.fill(baseMate, -1);
+            solution = new int[n];
+            removals = new TIntArrayList();
+            solutions = new TIntArrayList();
+            if(useHopcroftKarp) {
+                hopcroftKarp = new HopcroftKarp(n, m);
+                adjStart = new int[n + 1];
+                adj = new int[n * m];
+            } else {
+                hopcroftKarp = null;
+                adjStart = null;
+                adj = null;
             }
         }
-        mins[var] = idxVal;
-        maxs[var] = idxVal;
-        for(int i = 0; i < n; i++) {
-            if(i != var) {
-                if(precedence[i][var]) { // i is a predecessor of v
-                    if(variables[i].getUB() >= val) {
-                        Set_BitSet set = (Set_BitSet) digraph.getPredOf(i);
-                        int max = set.max();
-                        for(int d = set.nextValue(idxVal); d <= max && d >= 0; d = set.nextValue(d+1)) {
-                            digraph.removeArc(d, i);
-                            removedArcs.add(i + nbNodes * d);
-                        }
-                    }
-                    mins[i] = mapValIdx.get(variables[i].getLB()) + n;
-                    maxs[i] = mapValIdx.get(variables[i].previousValue(val)) + n;
-                } else if(precedence[var][i]) { // i is a successor of v
-                    if(variables[i].getLB() <= val) {
-                        Set_BitSet set = (Set_BitSet) digraph.getPredOf(i);
-                        int min = set.min();
-                        for(int d = min; d <= idxVal && d >= 0; d = set.nextValue(d+1)) {
-                            digraph.removeArc(d, i);
-                            removedArcs.add(i + nbNodes * d);
+
+        /**
+         * Searches an augmenting path from the free variable root (BFS), and augments the matching along it.
+         *
+         * @param root the free variable
+         * @return true iff the matching has been augmented
+         */
+        private boolean augmentPath_BFS(int root) {
+            Arrays.fill(visited, 0L);
+            int indexFirst = 0, indexLast = 0;
+            fifo[indexLast++] = root;
+            while(indexFirst != indexLast) {
+                int x = fifo[indexFirst++];
+                // the mate of x has already been visited, except for the root which has none
+                for(int w = 0; w < visited.length; w++) {
+                    long word = graph.getWord(x, w) & ~visited[w];
+                    visited[w] |= word;
+                    while(word != 0) {
+                        int val = (w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        parent[val] = x;
+                        if(mateOfVal[val] == -1) {
+                            // each variable of the path takes the value it has been reached from
+                            while(val != -1) {
+                                int var = parent[val];
+                                int previous = mateOfVar[var];
+                                mateOfVar[var] = val;
+                                mateOfVal[val] = var;
+                                val = previous;
+                            }
+                            return true;
                         }
+                        fifo[indexLast++] = mateOfVal[val];
                     }
-                    mins[i] = mapValIdx.get(variables[i].nextValue(val)) + n;
-                    maxs[i] = mapValIdx.get(variables[i].getUB()) + n;
-                } else {
-                    if(digraph.getPredOf(i).contains(idxVal)) {
-                        digraph.removeArc(idxVal, i);
-                        removedArcs.add(i + nbNodes * idxVal);
-                    }
-                    mins[i] = mapValIdx.get(variables[i].getLB()) + n;
-                    maxs[i] = mapValIdx.get(variables[i].getUB()) + n;
-                    if(variables[i].getLB() == val) {
-                        mins[i] = mapValIdx.get(variables[i].nextValue(val)) + n;
-                    }
-                    if(variables[i].getUB() == val) {
-                        maxs[i] = mapValIdx.get(variables[i].previousValue(val)) + n;
-                    }
-                }
-                if(digraph.getPredOf(i).isEmpty()) {
-                    return false;
                 }
             }
+            return false;
         }
-        return true;
-    }
 
-    /**
-     * Applies the precedence constraints on the bipartite graph.
-     *
-     * @param precedenceGraph the precedence graph
-     * @param topologicalTraversal the topological traversal of the precedence graph
-     * @param lb true iff lower bounds are filtered (upper bounds whenever lb is false)
-     * @return true iff the precedence constraints have been enforced without any domain's wipe-out
-     */
-    private boolean updateBoundWithinDigraph(DirectedGraph precedenceGraph, int[] topologicalTraversal, boolean lb) {
-        ISetIterator it;
-        for(int i = 0; i < topologicalTraversal.length; i++) {
-            int var = lb ? topologicalTraversal[i] : topologicalTraversal[topologicalTraversal.length-1-i];
-            if(digraph.getPredOf(var).isEmpty()) {
-                return false;
-            }
-            it = lb ? precedenceGraph.getSuccOf(var).iterator() : precedenceGraph.getPredOf(var).iterator();
-            while(it.hasNext()) {
-                int v = it.nextInt();
-                if(digraph.getPredOf(v).isEmpty()) {
-                    return false;
-                }
-                if(lb && mins[v] <= mins[var] || !lb && maxs[v] >= maxs[var]) {
-                    int from = lb ? mins[v] : maxs[var];
-                    int to = lb ? mins[var] : maxs[v];
-                    for(int k = from; k <= to; k++) {
-                        if(digraph.removeArc(k, v)) {
-                            removedArcs.add(v + nbNodes * k);
-                        }
+        /**
+         * Builds the bipartite graph induced by the instantiation var <-- val from the bipartite graph of the domains.
+         *
+         * @param var the variable
+         * @param val the value
+         * @return true iff the bipartite graph has been built without any domain's wipe-out
+         */
+        private boolean buildDigraph(int var, int val) {
+            int idxVal = val - offset;
+            domains.copyTo(graph);
+            graph.clear(var);
+            graph.add(var, idxVal);
+            mins[var] = idxVal;
+            maxs[var] = idxVal;
+            for(int i = 0; i < n; i++) {
+                if(i != var) {
+                    if(precedence.isBefore(i, var)) { // i is a predecessor of v
+                        graph.removeRange(i, idxVal, m - 1);
+                    } else if(precedence.isBefore(var, i)) { // i is a successor of v
+                        graph.removeRange(i, 0, idxVal);
+                    } else {
+                        graph.remove(i, idxVal);
                     }
-                    if(digraph.getPredOf(v).isEmpty()) {
+                    mins[i] = graph.min(i);
+                    if(mins[i] == -1) {
                         return false;
                     }
-                    if(lb) {
-                        mins[v] = digraph.getPredOf(v).min();
-                    } else {
-                        maxs[v] = digraph.getPredOf(v).max();
-                    }
+                    maxs[i] = graph.max(i);
                 }
             }
+            return true;
         }
-        return true;
-    }
 
-    private void greedyMatch() {
-        Arrays.fill(matched, false);
-        ISetIterator iterator;
-        for(int varIdx = 0; varIdx < n; varIdx++) {
-            iterator = digraph.getPredOf(varIdx).iterator();
-            while(!matched[varIdx] && iterator.hasNext()) {
-                int tmp = iterator.nextInt();
-                if(!matched[tmp]) {
-                    digraph.removeArc(tmp, varIdx);
-                    digraph.addArc(varIdx, tmp);
-                    matched[varIdx] = true;
-                    matched[tmp] = true;
+        /**
+         * Applies the precedence constraints on the bipartite graph.
+         *
+         * @param topologicalTraversal the topological traversal of the precedence graph
+         * @param lb true iff lower bounds are filtered (upper bounds whenever lb is false)
+         * @return true iff the precedence constraints have been enforced without any domain's wipe-out
+         */
+        private boolean updateBoundWithinDigraph(int[] topologicalTraversal, boolean lb) {
+            for(int i = 0; i < topologicalTraversal.length; i++) {
+                int var = lb ? topologicalTraversal[i] : topologicalTraversal[topologicalTraversal.length-1-i];
+                for(int v : lb ? successors[var] : predecessors[var]) {
+                    if(lb && mins[v] <= mins[var]) {
+                        graph.removeRange(v, mins[v], mins[var]);
+                        mins[v] = graph.min(v);
+                        if(mins[v] == -1) {
+                            return false;
+                        }
+                    } else if(!lb && maxs[v] >= maxs[var]) {
+                        graph.removeRange(v, maxs[var], maxs[v]);
+                        maxs[v] = graph.max(v);
+                        if(maxs[v] == -1) {
+                            return false;
+                        }
+                    }
                 }
             }
+            return true;
         }
-    }
 
-    private void restoreDigraph() {
-        for(int varIdx = 0; varIdx < n; varIdx++) {
-            if(!digraph.getSuccOf(varIdx).isEmpty()) {
-                int idxVal = digraph.getSuccOf(varIdx).min();
-                digraph.removeArc(varIdx, idxVal);
-                digraph.addArc(idxVal, varIdx);
+        /**
+         * Returns true iff a matching of size n is found in the bipartite graph, with augmenting paths
+         * from the pairs of the base matching that are still arcs of the bipartite graph.
+         *
+         * @return true iff a maximum matching of size n has been found
+         */
+        private boolean matchWithAugmentingPaths() {
+            Arrays.fill(mateOfVal, -1);
+            for(int varIdx = 0; varIdx < n; varIdx++) {
+                int idxVal = baseMate[varIdx];
+                if(idxVal >= 0 && graph.contains(varIdx, idxVal)) {
+                    mateOfVar[varIdx] = idxVal;
+                    mateOfVal[idxVal] = varIdx;
+                } else {
+                    mateOfVar[varIdx] = -1;
+                }
             }
+            // greedy matching of the free variables
+            for(int varIdx = 0; varIdx < n; varIdx++) {
+                for(int idxVal = graph.min(varIdx); mateOfVar[varIdx] == -1 && idxVal >= 0; idxVal = graph.nextValue(varIdx, idxVal + 1)) {
+                    if(mateOfVal[idxVal] == -1) {
+                        mateOfVar[varIdx] = idxVal;
+                        mateOfVal[idxVal] = varIdx;
+                    }
+                }
+            }
+            // a variable that cannot be matched by an augmenting path remains free in any maximum matching
+            for(int varIdx = 0; varIdx < n; varIdx++) {
+                if(mateOfVar[varIdx] == -1 && !augmentPath_BFS(varIdx)) {
+                    return false;
+                }
+            }
+            System.arraycopy(mateOfVar, 0, baseMate, 0, n);
+            return true;
         }
-        for(int k = 0; k < removedArcs.size(); k++) {
-            int tmp = removedArcs.getQuick(k);
-            int varIdx = tmp % nbNodes;
-            int idxVal = tmp / nbNodes;
-            digraph.addArc(idxVal, varIdx);
-        }
-        removedArcs.clear();
-    }
 
-    /**
-     * Returns true iff a maximum matching of size n has been found within the bipartite graph induced by the instantiation var <-- value.
-     *
-     * @param var the variable
-     * @param value the value
-     * @param precedenceGraph the precedence graph
-     * @param topologicalTraversal the topological traversal of the precedence graph
-     * @return true iff a maximum matching has been found
-     */
-    private boolean findMaximumMatching(int var, int value, DirectedGraph precedenceGraph, int[] topologicalTraversal) {
-        if(!buildDigraph(var, value)) {
-            restoreDigraph();
-            return false;
-        }
-        boolean update = updateBoundWithinDigraph(precedenceGraph, topologicalTraversal, true)
-            && updateBoundWithinDigraph(precedenceGraph, topologicalTraversal, false);
-        if(!update) {
-            restoreDigraph();
+        /**
+         * Returns true iff the Hopcroft-Karp algorithm finds a matching of size n in the bipartite graph.
+         *
+         * @return true iff a maximum matching of size n has been found
+         */
+        private boolean matchWithHopcroftKarp() {
+            int k = 0;
+            for(int varIdx = 0; varIdx < n; varIdx++) {
+                adjStart[varIdx] = k;
+                for(int w = 0; w < graph.getNbWords(); w++) {
+                    long word = graph.getWord(varIdx, w);
+                    while(word != 0) {
+                        adj[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            }
+            adjStart[n] = k;
+            hopcroftKarp.reset();
+            // the pairs of the base matching that are still arcs of the bipartite graph are kept
+            for(int varIdx = 0; varIdx < n; varIdx++) {
+                if(baseMate[varIdx] >= 0 && graph.contains(varIdx, baseMate[varIdx])) {
+                    hopcroftKarp.match(varIdx, baseMate[varIdx]);
+                }
+            }
+            if(hopcroftKarp.maximumMatching(adjStart, adj) == n) {
+                for(int varIdx = 0; varIdx < n; varIdx++) {
+                    baseMate[varIdx] = hopcroftKarp.getMate(varIdx);
+                }
+                return true;
+            }
             return false;
         }
-        greedyMatch();
-        free.clear();
-        free.set(0, n + m);
-        int nbMatched = 0;
-        for(int k = 0; k < n; k++) {
-            if(!digraph.getSuccOf(k).isEmpty()) {
-                nbMatched++;
-                free.clear(k);
-                free.clear(digraph.getSuccOf(k).min());
+
+        /**
+         * Returns true iff a maximum matching of size n has been found within the bipartite graph induced by the instantiation var <-- value.
+         *
+         * @param var the variable
+         * @param value the value
+         * @param topologicalTraversal the topological traversal of the precedence graph
+         * @return true iff a maximum matching has been found
+         */
+        private boolean findMaximumMatching(int var, int value, int[] topologicalTraversal) {
+            if(!buildDigraph(var, value)) {
+                return false;
             }
+            boolean update = updateBoundWithinDigraph(topologicalTraversal, true)
+                && updateBoundWithinDigraph(topologicalTraversal, false);
+            if(!update) {
+                return false;
+            }
+            return hopcroftKarp != null ? matchWithHopcroftKarp() : matchWithAugmentingPaths();
         }
-        if(nbMatched < n) {
-            boolean augmentedPathFound;
-            do {
-                augmentedPathFound = false;
-                for (int node = free.nextSetBit(0); node >= 0 && node < n; node = free.nextSetBit(node + 1)) {
-                    augmentedPathFound |= tryToMatch(node);
+
+        /**
+         * Returns true iff the instantiation var <-- value has a residual support or a maximum matching of size n.
+         * The perfect matching found is stored as a residual support if it respects the precedences,
+         * or recorded in solutions if the residual supports must not be modified.
+         *
+         * @param var the variable
+         * @param value the value
+         * @param precedenceGraph the precedence graph
+         * @param topologicalTraversal the topological traversal of the precedence graph
+         * @param storeSolution true iff the solution found is directly stored in the residual supports
+         * @return true iff the instantiation var <-- value is supported
+         */
+        private boolean hasSupport(int var, int value, DirectedGraph2 precedenceGraph, int[] topologicalTraversal, boolean storeSolution) {
+            if(residualSupports.hasSupport(var, value, variables, false)) {
+                return true;
+            }
+            if(findMaximumMatching(var, value, topologicalTraversal)) {
+                for(int i = 0; i < n; i++) {
+                    solution[i] = baseMate[i] + offset;
                 }
-            } while(augmentedPathFound);
-            nbMatched = 0;
-            for(int varIdx = 0; varIdx < n; varIdx++) {
-                if(!digraph.getSuccOf(varIdx).isEmpty()) {
-                    nbMatched++;
+                if(storeSolution) {
+                    residualSupports.store(solution, precedenceGraph);
+                } else {
+                    solutions.add(solution);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Checks the supports of the variables first, first + step, first + 2 * step, ... against the current domains,
+         * without modifying the variables : the pairs (var, val) without support are recorded in removals.
+         *
+         * @param first the first variable
+         * @param step the step between two variables
+         * @param topologicalTraversal the topological traversal of the precedence graph
+         */
+        private void checkVariables(int first, int step, int[] topologicalTraversal) {
+            removals.resetQuick();
+            solutions.resetQuick();
+            for(int var = first; var < n; var += step) {
+                int lb = variables[var].getLB();
+                int ub = variables[var].getUB();
+                if(rcFiltering) {
+                    for(int val = lb; val <= ub; val = variables[var].nextValue(val)) {
+                        if(!hasSupport(var, val, null, topologicalTraversal, false)) {
+                            removals.add(var);
+                            removals.add(val);
+                        }
+                    }
+                } else {
+                    while(lb <= ub && !hasSupport(var, lb, null, topologicalTraversal, false)) {
+                        removals.add(var);
+                        removals.add(lb);
+                        lb = variables[var].nextValue(lb);
+                    }
+                    while(ub > lb && !hasSupport(var, ub, null, topologicalTraversal, false)) {
+                        removals.add(var);
+                        removals.add(ub);
+                        ub = variables[var].previousValue(ub);
+                    }
                 }
             }
         }
-        restoreDigraph();
-        return nbMatched == n;
     }
 
-    @Override
-    public boolean propagate(DirectedGraph precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
-        for(int k = 0; k < n + m; k++) {
-            digraph.getPredOf(k).clear();
-            digraph.getSuccOf(k).clear();
+    /**
+     * Fork-join task checking the supports with the support checkers in [from, to[.
+     */
+    private final class SupportCheckTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from, to;
+        private final int[] topologicalTraversal;
+
+        private SupportCheckTask(int from, int to, int[] topologicalTraversal) {
+            this.from = from;
+            this.to = to;
+            this.topologicalTraversal = topologicalTraversal;
         }
-        for(int i = 0; i < n; i++) {
-            for(int d = variables[i].getLB(); d <= variables[i].getUB(); d = variables[i].nextValue(d)) {
-                digraph.addArc(mapValIdx.get(d) + n, i);
+
+        @Override
+        protected void compute() {
+            if(to - from == 1) {
+                checkers[from].checkVariables(from, checkers.length, topologicalTraversal);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SupportCheckTask(from, mid, topologicalTraversal), new SupportCheckTask(mid, to, topologicalTraversal));
             }
         }
+    }
+
+    private boolean propagateSequentially(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
+        SupportChecker checker = checkers[0];
         boolean hasFiltered = false;
         for (int var = 0; var < n; var++) {
             // loop on all variables (not just the ones with predecessors or successors)
             // because we also assure arc-consistency filtering for allDifferent
             if(rcFiltering) {
                 for(int val = variables[var].getLB(); val <= variables[var].getUB(); val = variables[var].nextValue(val)) {
-                    if(!findMaximumMatching(var, val, precedenceGraph, topologicalTraversal)) {
+                    if(!checker.hasSupport(var, val, precedenceGraph, topologicalTraversal, true)) {
                         hasFiltered |= variables[var].removeValue(val, aCause);
-                        digraph.removeArc(mapValIdx.get(val) + n, var);
-                        //                        System.out.println("Filter (var="+var+",val="+(mapValIdx.get(val) + n)+")");
+                        domains.remove(var, val - offset);
                     }
                 }
             } else {
-                while(!findMaximumMatching(var, variables[var].getLB(), precedenceGraph, topologicalTraversal)) {
-                    digraph.removeArc(mapValIdx.get(variables[var].getLB()) + n, var);
+                while(!checker.hasSupport(var, variables[var].getLB(), precedenceGraph, topologicalTraversal, true)) {
+                    domains.remove(var, variables[var].getLB() - offset);
                     hasFiltered |= variables[var].removeValue(variables[var].getLB(), aCause);
                 }
-                while(!findMaximumMatching(var, variables[var].getUB(), precedenceGraph, topologicalTraversal)) {
-                    digraph.removeArc(mapValIdx.get(variables[var].getUB()) + n, var);
+                while(!checker.hasSupport(var, variables[var].getUB(), precedenceGraph, topologicalTraversal, true)) {
+                    domains.remove(var, variables[var].getUB() - offset);
                     hasFiltered |= variables[var].removeValue(variables[var].getUB(), aCause);
                 }
             }
         }
         return hasFiltered;
     }
+
+    private boolean propagateInParallel(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
+        ForkJoinPool.commonPool().invoke(new SupportCheckTask(0, checkers.length, topologicalTraversal));
+        boolean hasFiltered = false;
+        for(SupportChecker checker : checkers) {
+            for(int k = 0; k < checker.solutions.size(); k += n) {
+                checker.solutions.toArray(checker.solution, k, 0, n);
+                residualSupports.store(checker.solution, precedenceGraph);
+            }
+        }
+        for(SupportChecker checker : checkers) {
+            for(int k = 0; k < checker.removals.size(); k += 2) {
+                int var = checker.removals.getQuick(k);
+                int val = checker.removals.getQuick(k + 1);
+                domains.remove(var, val - offset);
+                hasFiltered |= variables[var].removeValue(val, aCause);
+            }
+        }
+        return hasFiltered;
+    }
+
+    @Override
+    public boolean propagate(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
+        updatePrecedenceArrays(precedenceGraph);
+        for(int i = 0; i < n; i++) {
+            domains.synchronize(i, variables[i], offset);
+        }
+        if(checkers.length > 1) {
+            return propagateInParallel(precedenceGraph, topologicalTraversal, aCause);
+        }
+        return propagateSequentially(precedenceGraph, topologicalTraversal, aCause);
+    }
 }
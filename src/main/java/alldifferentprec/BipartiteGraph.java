@@ -0,0 +1,207 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import java.util.Arrays;
+
+/**
+ * Dense bipartite graph between variables and value indexes, stored as one bitset row (an array of long words)
+ * per variable : the row of a variable contains the indexes of the values it is connected to.
+ * Range operations and iterations work on whole words, i.e. on 64 arcs at once.
+ */
+public class BipartiteGraph {
+    private final int nbVariables;
+    private final int nbValues;
+    private final int nbWords;
+    private final long[] rows;
+
+    /**
+     * Creates an empty bipartite graph.
+     *
+     * @param nbVariables the number of variables
+     * @param nbValues the number of values, indexed from 0
+     */
+    public BipartiteGraph(int nbVariables, int nbValues) {
+        this.nbVariables = nbVariables;
+        this.nbValues = nbValues;
+        this.nbWords = (nbValues + 63) >>> 6;
+        this.rows = new long[nbVariables * nbWords];
+    }
+
+    public int getNbVariables() {
+        return nbVariables;
+    }
+
+    public int getNbValues() {
+        return nbValues;
+    }
+
+    /**
+     * Returns the number of long words of each row.
+     *
+     * @return the number of words of a row
+     */
+    public int getNbWords() {
+        return nbWords;
+    }
+
+    /**
+     * Returns the w-th word of the row of the given variable.
+     *
+     * @param var the variable
+     * @param w the index of the word
+     * @return the w-th word of the row of var
+     */
+    public long getWord(int var, int w) {
+        return rows[var * nbWords + w];
+    }
+
+    public void setWord(int var, int w, long word) {
+        rows[var * nbWords + w] = word;
+    }
+
+    /**
+     * Removes all the arcs of the graph.
+     */
+    public void clear() {
+        Arrays.fill(rows, 0L);
+    }
+
+    /**
+     * Removes all the arcs of the given variable.
+     *
+     * @param var the variable
+     */
+    public void clear(int var) {
+        Arrays.fill(rows, var * nbWords, (var + 1) * nbWords, 0L);
+    }
+
+    /**
+     * Copies the arcs of the given graph, which must have the same dimensions, into this graph.
+     *
+     * @param graph the graph to copy
+     */
+    public void copyFrom(BipartiteGraph graph) {
+        System.arraycopy(graph.rows, 0, rows, 0, rows.length);
+    }
+
+    public void add(int var, int val) {
+        rows[var * nbWords + (val >>> 6)] |= 1L << val;
+    }
+
+    /**
+     * Removes the arc between var and val.
+     *
+     * @param var the variable
+     * @param val the value index
+     * @return true iff the arc existed
+     */
+    public boolean remove(int var, int val) {
+        int idx = var * nbWords + (val >>> 6);
+        long word = rows[idx];
+        rows[idx] = word & ~(1L << val);
+        return rows[idx] != word;
+    }
+
+    public boolean contains(int var, int val) {
+        return (rows[var * nbWords + (val >>> 6)] & 1L << val) != 0;
+    }
+
+    /**
+     * Removes the arcs between var and the values in [from, to].
+     *
+     * @param var the variable
+     * @param from the first value index (inclusive)
+     * @param to the last value index (inclusive)
+     * @return true iff at least one arc has been removed
+     */
+    public boolean removeRange(int var, int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, nbValues - 1);
+        if(from > to) {
+            return false;
+        }
+        int row = var * nbWords;
+        int firstWord = from >>> 6;
+        int lastWord = to >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - (to & 63));
+        long removed;
+        if(firstWord == lastWord) {
+            removed = rows[row + firstWord] & firstMask & lastMask;
+            rows[row + firstWord] &= ~(firstMask & lastMask);
+        } else {
+            removed = rows[row + firstWord] & firstMask;
+            rows[row + firstWord] &= ~firstMask;
+            for(int w = firstWord + 1; w < lastWord; w++) {
+                removed |= rows[row + w];
+                rows[row + w] = 0L;
+            }
+            removed |= rows[row + lastWord] & lastMask;
+            rows[row + lastWord] &= ~lastMask;
+        }
+        return removed != 0;
+    }
+
+    public boolean isEmpty(int var) {
+        int row = var * nbWords;
+        for(int w = 0; w < nbWords; w++) {
+            if(rows[row + w] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the smallest value index connected to var, or -1 if var has no arc.
+     *
+     * @param var the variable
+     * @return the smallest value index of var, or -1
+     */
+    public int min(int var) {
+        return nextValue(var, 0);
+    }
+
+    /**
+     * Returns the largest value index connected to var, or -1 if var has no arc.
+     *
+     * @param var the variable
+     * @return the largest value index of var, or -1
+     */
+    public int max(int var) {
+        int row = var * nbWords;
+        for(int w = nbWords - 1; w >= 0; w--) {
+            long word = rows[row + w];
+            if(word != 0) {
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the smallest value index connected to var that is greater than or equal to from, or -1 if there is none.
+     *
+     * @param var the variable
+     * @param from the value index to start from
+     * @return the next value index of var, or -1
+     */
+    public int nextValue(int var, int from) {
+        if(from >= nbValues) {
+            return -1;
+        }
+        int row = var * nbWords;
+        int w = from >>> 6;
+        long word = rows[row + w] & -1L << from;
+        while(word == 0) {
+            if(++w == nbWords) {
+                return -1;
+            }
+            word = rows[row + w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+}
@@ -24,8 +24,8 @@ public class DirectedGraph2 extends DirectedGraph {
     // VARIABLES
     //***********************************************************************************
 
-    private ISet[] successors;
-    private ISet[] predecessors;
+    private Set_BitSet[] successors;
+    private Set_BitSet[] predecessors;
     private ISet nodes;
     private int n;
 
@@ -41,14 +41,214 @@ public class DirectedGraph2 extends DirectedGraph {
      * @param n        maximum number of nodes
      */
     public DirectedGraph2(int n) {
-        super(n, SetType.BITSET, true);
+        // the sets of DirectedGraph are never used, as all the accessors are overridden, so none is allocated
+        super(0, SetType.BITSET, false);
         this.n = n;
         predecessors = new Set_BitSet[n];
         successors = new Set_BitSet[n];
         for (int i = 0; i < n; i++) {
-            predecessors[i] = new Set_BitSet(0);
-            successors[i] = new Set_BitSet(0);
+            predecessors[i] = new Set_BitSet(0, n);
+            successors[i] = new Set_BitSet(0, n);
         }
         this.nodes = SetFactory.makeConstantSet(0, n-1);
     }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    // the accessors are overridden so that the sets of this class are used instead of the ones of DirectedGraph
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("nodes : \n").append(nodes).append("\n");
+        sb.append("successors : \n");
+        for (int i = 0; i < n; i++) {
+            sb.append(i).append(" -> ").append(successors[i]).append("\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int getNbMaxNodes() {
+        return n;
+    }
+
+    @Override
+    public ISet getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public boolean addNode(int x) {
+        return false;
+    }
+
+    @Override
+    public boolean removeNode(int x) {
+        throw new UnsupportedOperationException("The nodes of a DirectedGraph2 are constant");
+    }
+
+    @Override
+    public boolean addArc(int from, int to) {
+        if(successors[from].add(to)) {
+            predecessors[to].add(from);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeArc(int from, int to) {
+        if(successors[from].remove(to)) {
+            predecessors[to].remove(from);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of long words of the successor and predecessor sets of a node.
+     *
+     * @return the number of words of a set
+     */
+    public int getNbWords() {
+        return (n + 63) >>> 6;
+    }
+
+    /**
+     * Returns the w-th word of the successors of x : its bit b stands for the node 64w + b.
+     * Iterating on the words with Long.numberOfTrailingZeros allocates nothing.
+     *
+     * @param x the node
+     * @param w the index of the word, lower than getNbWords()
+     * @return the w-th word of the successors of x
+     */
+    public long getSuccWord(int x, int w) {
+        return successors[x].getWord(w);
+    }
+
+    /**
+     * Returns the w-th word of the predecessors of x : its bit b stands for the node 64w + b.
+     *
+     * @param x the node
+     * @param w the index of the word, lower than getNbWords()
+     * @return the w-th word of the predecessors of x
+     */
+    public long getPredWord(int x, int w) {
+        return predecessors[x].getWord(w);
+    }
+
+    /**
+     * Adds the arcs from x to every node of [from, to].
+     * The successors of x are updated word by word, and only the nodes of the new arcs are visited to add x to their predecessors.
+     *
+     * @param x the origin of the arcs
+     * @param from the first destination (inclusive)
+     * @param to the last destination (inclusive)
+     * @return true iff at least one arc has been added
+     */
+    public boolean addSuccRange(int x, int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, n - 1);
+        if(from > to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = to >>> 6;
+        for(int w = firstWord; w <= lastWord; w++) {
+            long added = ~successors[x].getWord(w);
+            if(w == firstWord) {
+                added &= -1L << from;
+            }
+            if(w == lastWord) {
+                added &= -1L >>> (63 - (to & 63));
+            }
+            while(added != 0) {
+                predecessors[(w << 6) + Long.numberOfTrailingZeros(added)].add(x);
+                added &= added - 1;
+            }
+        }
+        return successors[x].addRange(from, to);
+    }
+
+    /**
+     * Removes the arcs from x to the nodes of [from, to].
+     *
+     * @param x the origin of the arcs
+     * @param from the first destination (inclusive)
+     * @param to the last destination (inclusive)
+     * @return true iff at least one arc has been removed
+     */
+    public boolean removeSuccRange(int x, int from, int to) {
+        return removeRange(successors[x], predecessors, x, from, to);
+    }
+
+    /**
+     * Removes the arcs from the nodes of [from, to] to x.
+     *
+     * @param x the destination of the arcs
+     * @param from the first origin (inclusive)
+     * @param to the last origin (inclusive)
+     * @return true iff at least one arc has been removed
+     */
+    public boolean removePredRange(int x, int from, int to) {
+        return removeRange(predecessors[x], successors, x, from, to);
+    }
+
+    // removes the nodes of [from, to] from the set of x, and x from the opposite sets of the removed nodes,
+    // iterating on the words of the set so that only the removed nodes are visited
+    private static boolean removeRange(Set_BitSet set, Set_BitSet[] opposites, int x, int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, (set.getNbWords() << 6) - 1);
+        if(from > to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = to >>> 6;
+        for(int w = firstWord; w <= lastWord; w++) {
+            long word = set.getWord(w);
+            if(w == firstWord) {
+                word &= -1L << from;
+            }
+            if(w == lastWord) {
+                word &= -1L >>> (63 - (to & 63));
+            }
+            while(word != 0) {
+                opposites[(w << 6) + Long.numberOfTrailingZeros(word)].remove(x);
+                word &= word - 1;
+            }
+        }
+        return set.removeRange(from, to);
+    }
+
+    @Override
+    public boolean arcExists(int from, int to) {
+        return successors[from].contains(to);
+    }
+
+    @Override
+    public boolean isArcOrEdge(int from, int to) {
+        return arcExists(from, to);
+    }
+
+    @Override
+    public ISet getSuccOf(int x) {
+        return successors[x];
+    }
+
+    @Override
+    public ISet getSuccOrNeighOf(int x) {
+        return successors[x];
+    }
+
+    @Override
+    public ISet getPredOf(int x) {
+        return predecessors[x];
+    }
+
+    @Override
+    public ISet getPredOrNeighOf(int x) {
+        return predecessors[x];
+    }
 }
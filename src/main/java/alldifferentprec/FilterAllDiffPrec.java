@@ -9,13 +9,12 @@ import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
-import org.chocosolver.util.objects.graphs.DirectedGraph;
 
 public abstract class FilterAllDiffPrec {
     protected final IntVar[] variables;
-    protected final boolean[][] precedence;
+    protected final PrecedenceMatrix precedence;
 
-    public FilterAllDiffPrec(IntVar[] variables, boolean[][] precedence) {
+    public FilterAllDiffPrec(IntVar[] variables, PrecedenceMatrix precedence) {
         this.variables = variables;
         this.precedence = precedence;
     }
@@ -24,5 +23,5 @@ public abstract class FilterAllDiffPrec {
 
     public abstract int getPropagationConditions(int vIdx);
 
-    public abstract boolean propagate(DirectedGraph precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException;
+    public abstract boolean propagate(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException;
 }
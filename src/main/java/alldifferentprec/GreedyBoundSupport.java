@@ -10,7 +10,6 @@ import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
-import org.chocosolver.util.objects.graphs.DirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 import org.chocosolver.util.objects.setDataStructures.SetFactory;
@@ -35,12 +34,14 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
     private final int[] assign;
     private int candidate;
     private int nextAvailableValue;
+    // solutions found by the support checks, to skip the checks of the pairs they still support
+    private final ResidualSupports residualSupports;
 
-    public GreedyBoundSupport(IntVar[] variables, boolean[][] precedence) {
+    public GreedyBoundSupport(IntVar[] variables, PrecedenceMatrix precedence) {
         this(variables, precedence, false);
     }
 
-    public GreedyBoundSupport(IntVar[] variables, boolean[][] precedence, boolean rcFiltering) {
+    public GreedyBoundSupport(IntVar[] variables, PrecedenceMatrix precedence, boolean rcFiltering) {
         super(variables, precedence);
         this.rcFiltering = rcFiltering;
         instVars = SetFactory.makeBitSet(0);
@@ -54,6 +55,13 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
         mins = new int[n];
         maxs = new int[n];
         assign = new int[n];
+        int minValue = Integer.MAX_VALUE;
+        int maxValue = Integer.MIN_VALUE;
+        for(IntVar variable : variables) {
+            minValue = Math.min(minValue, variable.getLB());
+            maxValue = Math.max(maxValue, variable.getUB());
+        }
+        residualSupports = n > 0 ? new ResidualSupports(n, minValue, maxValue, n) : null;
     }
 
     @Override
@@ -71,10 +79,10 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
         maxs[var] = val;
         for(int i = 0; i < n; i++) {
             if(i != var) {
-                if(precedence[i][var]) { // i is a predecessor of v
+                if(precedence.isBefore(i, var)) { // i is a predecessor of v
                     mins[i] = variables[i].getLB();
                     maxs[i] = Math.min(val - 1, variables[i].getUB());
-                } else if(precedence[var][i]) { // i is a successor of v
+                } else if(precedence.isBefore(var, i)) { // i is a successor of v
                     mins[i] = Math.max(val + 1, variables[i].getLB());
                     maxs[i] = variables[i].getUB();
                 } else {
@@ -95,39 +103,41 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
         return true;
     }
 
-    private boolean updateBounds(DirectedGraph precedenceGraph, int[] topologicalTraversal, boolean lb) {
-        ISetIterator it;
+    private boolean updateBounds(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, boolean lb) {
         for(int i = 0; i < topologicalTraversal.length; i++) {
             int var = lb ? topologicalTraversal[i] : topologicalTraversal[topologicalTraversal.length-1-i];
             if(mins[var] > maxs[var]) {
                 return false;
             }
-            it = lb ? precedenceGraph.getSuccOf(var).iterator() : precedenceGraph.getPredOf(var).iterator();
-            while(it.hasNext()) {
-                int v = it.nextInt();
-                if(mins[v] > maxs[v]) {
-                    return false;
-                }
-                if(lb && mins[v] <= mins[var] || !lb && maxs[v] >= maxs[var]) {
-                    if(lb) {
-                        mins[v] = mins[var] + 1;
-                    } else {
-                        maxs[v] = maxs[var] - 1;
-                    }
+            for(int w = 0; w < precedenceGraph.getNbWords(); w++) {
+                long word = lb ? precedenceGraph.getSuccWord(var, w) : precedenceGraph.getPredWord(var, w);
+                while(word != 0) {
+                    int v = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
                     if(mins[v] > maxs[v]) {
                         return false;
                     }
+                    if(lb && mins[v] <= mins[var] || !lb && maxs[v] >= maxs[var]) {
+                        if(lb) {
+                            mins[v] = mins[var] + 1;
+                        } else {
+                            maxs[v] = maxs[var] - 1;
+                        }
+                        if(mins[v] > maxs[v]) {
+                            return false;
+                        }
+                    }
                 }
             }
         }
         return true;
     }
 
-    private boolean containsPrecOf(ISet set, int value, DirectedGraph precedenceGraph) {
+    private boolean containsPrecOf(ISet set, int value) {
         ISetIterator it = set.iterator();
         while(it.hasNext()) {
             int i = it.nextInt();
-            if(precedenceGraph.getPredOf(value).contains(i)) {
+            if(precedence.isBefore(i, value)) {
                 return true;
             }
         }
@@ -150,14 +160,14 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
         }
     }
 
-    private boolean computeCandidate(int v, DirectedGraph precedenceGraph) {
+    private boolean computeCandidate(int v) {
         ISetIterator iterator;
         int u = Integer.MAX_VALUE;
         candidate = -1;
         iterator = availableVars.iterator();
         while(iterator.hasNext()) {
             int i = iterator.nextInt();
-            if(u > maxs[i] && !containsPrecOf(tmp, i, precedenceGraph)) {
+            if(u > maxs[i] && !containsPrecOf(tmp, i)) {
                 u = maxs[i];
                 candidate = i;
             }
@@ -165,7 +175,7 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
         return u >= v && candidate != -1; // found valid candidate
     }
 
-    private boolean foundBoundSupport(int var, int val, DirectedGraph precedenceGraph, int[] topologicalTraversal) {
+    private boolean foundBoundSupport(int var, int val, DirectedGraph2 precedenceGraph, int[] topologicalTraversal) {
         if(!initDomains(var, val)) {
             return false;
         }
@@ -183,7 +193,7 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
         for(int v = min; v <= max; v++) {
             addAvailableValues(var, v);
             if(!instValues.contains(v) && !availableVars.isEmpty() && v != val) {
-                if(!computeCandidate(v, precedenceGraph)) {
+                if(!computeCandidate(v)) {
                     return false;
                 }
                 availableVars.remove(candidate);
@@ -194,8 +204,29 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
         return !PropAllDiffPrec.contains(assign,-1);
     }
 
+    /**
+     * Returns true iff the instantiation var <-- val has a residual support or a bound support.
+     * The bound support found is stored as a residual support if it respects the precedences.
+     *
+     * @param var the variable
+     * @param val the value
+     * @param precedenceGraph the precedence graph
+     * @param topologicalTraversal the topological traversal of the precedence graph
+     * @return true iff the instantiation var <-- val is supported
+     */
+    private boolean hasSupport(int var, int val, DirectedGraph2 precedenceGraph, int[] topologicalTraversal) {
+        if(residualSupports.hasSupport(var, val, variables, true)) {
+            return true;
+        }
+        if(foundBoundSupport(var, val, precedenceGraph, topologicalTraversal)) {
+            residualSupports.store(assign, precedenceGraph);
+            return true;
+        }
+        return false;
+    }
+
     @Override
-    public boolean propagate(DirectedGraph precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
+    public boolean propagate(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
         instValues.clear();
         min = Integer.MAX_VALUE;
         max = Integer.MIN_VALUE;
@@ -216,15 +247,15 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
         for (int var = 0; var < variables.length; var++) {
             if(rcFiltering) {
                 for(int val = variables[var].getLB(); val <= variables[var].getUB(); val = variables[var].nextValue(val)) {
-                    if(!foundBoundSupport(var, val, precedenceGraph, topologicalTraversal)) {
+                    if(!hasSupport(var, val, precedenceGraph, topologicalTraversal)) {
                         hasFiltered |= variables[var].removeValue(val, aCause);
                     }
                 }
             } else {
-                while(!foundBoundSupport(var, variables[var].getLB(), precedenceGraph, topologicalTraversal)) {
+                while(!hasSupport(var, variables[var].getLB(), precedenceGraph, topologicalTraversal)) {
                     hasFiltered |= variables[var].removeValue(variables[var].getLB(), aCause);
                 }
-                while(!foundBoundSupport(var, variables[var].getUB(), precedenceGraph, topologicalTraversal)) {
+                while(!hasSupport(var, variables[var].getUB(), precedenceGraph, topologicalTraversal)) {
                     hasFiltered |= variables[var].removeValue(variables[var].getUB(), aCause);
                 }
             }
@@ -232,6 +263,7 @@ public class GreedyBoundSupport extends FilterAllDiffPrec {
                 instVars.add(var);
                 notInstVars.remove(var);
                 instValues.add(variables[var].getValue());
+                assign[var] = variables[var].getValue();
             }
         }
         return hasFiltered;
@@ -0,0 +1,95 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+
+/**
+ * Fast filtering algorithm for the AllDiffPrec constraint, which does NOT ensure bound consistency :
+ * it is strictly weaker than BESSIERE, GREEDY and the GODET filters.
+ * It only counts the chains of descendants (resp. ancestors) of each variable, the Hall intervals being left
+ * to the allDifferent constraint (enforced by AlgoAllDiffBC in PropAllDiffPrec), and the two are not combined.
+ * The descendants of i take pairwise different values in ]x_i, ub[, where ub is the largest upper bound of a descendant,
+ * hence x_i <= ub - nbDescendants(i), and symmetrically x_i >= lb + nbAncestors(i).
+ * The largest upper bounds (resp. smallest lower bounds) of the descendants (resp. ancestors) are computed with a sweep
+ * of the precedence graph in reverse topological order (resp. topological order), which reads the n/64 words of
+ * the successors (resp. predecessors) of each variable : a call takes O(n^2/64 + E), where E is the number of arcs
+ * of the precedence graph. E is Theta(n^2) in the worst case on the transitive closure, which is the default graph of
+ * PropAllDiffPrec, and is smaller on the transitive reduction.
+ */
+public class HallChainBounds extends FilterAllDiffPrec {
+    private final int[] nbAncestors;
+    private final int[] nbDescendants;
+    // largest upper bound of the descendants and smallest lower bound of the ancestors of each variable
+    private final int[] maxUbDescendants;
+    private final int[] minLbAncestors;
+
+    public HallChainBounds(IntVar[] variables, PrecedenceMatrix precedence) {
+        super(variables, precedence);
+        int n = variables.length;
+        nbAncestors = new int[n];
+        nbDescendants = new int[n];
+        for(int i = 0; i < n; i++) {
+            nbDescendants[i] = precedence.getNbAfter(i);
+            for(int j = precedence.nextAfter(i, 0); j >= 0; j = precedence.nextAfter(i, j + 1)) {
+                nbAncestors[j]++;
+            }
+        }
+        maxUbDescendants = new int[n];
+        minLbAncestors = new int[n];
+    }
+
+    @Override
+    public PropagatorPriority getPriority() {
+        return PropagatorPriority.LINEAR;
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public boolean propagate(DirectedGraph2 precedenceGraph, int[] topologicalTraversal, ICause aCause) throws ContradictionException {
+        boolean hasFiltered = false;
+        for(int k = topologicalTraversal.length - 1; k >= 0; k--) {
+            int var = topologicalTraversal[k];
+            int max = Integer.MIN_VALUE;
+            for(int w = 0; w < precedenceGraph.getNbWords(); w++) {
+                long word = precedenceGraph.getSuccWord(var, w);
+                while(word != 0) {
+                    int succ = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    max = Math.max(max, Math.max(variables[succ].getUB(), maxUbDescendants[succ]));
+                }
+            }
+            maxUbDescendants[var] = max;
+            if(nbDescendants[var] > 0) {
+                hasFiltered |= variables[var].updateUpperBound(max - nbDescendants[var], aCause);
+            }
+        }
+        for(int k = 0; k < topologicalTraversal.length; k++) {
+            int var = topologicalTraversal[k];
+            int min = Integer.MAX_VALUE;
+            for(int w = 0; w < precedenceGraph.getNbWords(); w++) {
+                long word = precedenceGraph.getPredWord(var, w);
+                while(word != 0) {
+                    int pred = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    min = Math.min(min, Math.min(variables[pred].getLB(), minLbAncestors[pred]));
+                }
+            }
+            minLbAncestors[var] = min;
+            if(nbAncestors[var] > 0) {
+                hasFiltered |= variables[var].updateLowerBound(min + nbAncestors[var], aCause);
+            }
+        }
+        return hasFiltered;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import java.util.Arrays;
+
+/**
+ * Hopcroft-Karp algorithm computing a maximum matching of a bipartite graph in O(E * sqrt(V)).
+ * The left nodes are 0..nbLeft-1, the right nodes are 0..nbRight-1, and the graph is given by the adjacency lists
+ * of the left nodes in compressed sparse row (CSR) format.
+ * The matching is kept between two calls, so that a maximum matching can be computed from a partial matching.
+ */
+public class HopcroftKarp {
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private final int nbLeft;
+    private final int[] mateLeft;
+    private final int[] mateRight;
+    private final int[] dist;
+    private final int[] queue;
+    private final int[] stack;
+    private final int[] cursor;
+    private int size;
+
+    public HopcroftKarp(int nbLeft, int nbRight) {
+        this.nbLeft = nbLeft;
+        this.mateLeft = new int[nbLeft];
+        this.mateRight = new int[nbRight];
+        this.dist = new int[nbLeft];
+        this.queue = new int[nbLeft];
+        this.stack = new int[nbLeft];
+        this.cursor = new int[nbLeft];
+        reset();
+    }
+
+    /**
+     * Empties the matching.
+     */
+    public void reset() {
+        Arrays.fill(mateLeft, -1);
+        Arrays.fill(mateRight, -1);
+        size = 0;
+    }
+
+    /**
+     * Matches the left node u with the right node v, which must both be free.
+     *
+     * @param u the left node
+     * @param v the right node
+     */
+    public void match(int u, int v) {
+        mateLeft[u] = v;
+        mateRight[v] = u;
+        size++;
+    }
+
+    /**
+     * Returns the right node matched with the left node u, or -1 if u is free.
+     *
+     * @param u the left node
+     * @return the mate of u, or -1
+     */
+    public int getMate(int u) {
+        return mateLeft[u];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Extends the current matching, which must only use arcs of the graph, into a maximum matching of the graph.
+     *
+     * @param adjStart the offsets of the adjacency lists (of length nbLeft + 1)
+     * @param adj the concatenated adjacency lists
+     * @return the size of the maximum matching
+     */
+    public int maximumMatching(int[] adjStart, int[] adj) {
+        // greedy initialisation of the free left nodes
+        for(int u = 0; u < nbLeft; u++) {
+            if(mateLeft[u] == -1) {
+                for(int k = adjStart[u]; k < adjStart[u + 1]; k++) {
+                    if(mateRight[adj[k]] == -1) {
+                        match(u, adj[k]);
+                        break;
+                    }
+                }
+            }
+        }
+        while(size < nbLeft && buildLayers(adjStart, adj)) {
+            System.arraycopy(adjStart, 0, cursor, 0, nbLeft);
+            for(int u = 0; u < nbLeft; u++) {
+                if(mateLeft[u] == -1 && augment(u, adjStart, adj)) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Computes the distances of the left nodes from the free left nodes in the alternating graph (BFS).
+     *
+     * @return true iff an augmenting path exists
+     */
+    private boolean buildLayers(int[] adjStart, int[] adj) {
+        int first = 0;
+        int last = 0;
+        for(int u = 0; u < nbLeft; u++) {
+            if(mateLeft[u] == -1) {
+                dist[u] = 0;
+                queue[last++] = u;
+            } else {
+                dist[u] = INFINITY;
+            }
+        }
+        boolean found = false;
+        while(first < last) {
+            int u = queue[first++];
+            for(int k = adjStart[u]; k < adjStart[u + 1]; k++) {
+                int w = mateRight[adj[k]];
+                if(w == -1) {
+                    found = true;
+                } else if(dist[w] == INFINITY) {
+                    dist[w] = dist[u] + 1;
+                    queue[last++] = w;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Searches an augmenting path from the free left node root along the layers (iterative DFS), and augments the matching along it.
+     *
+     * @return true iff the matching has been augmented
+     */
+    private boolean augment(int root, int[] adjStart, int[] adj) {
+        int top = 0;
+        stack[top++] = root;
+        while(top > 0) {
+            int u = stack[top - 1];
+            if(cursor[u] == adjStart[u + 1]) {
+                dist[u] = INFINITY; // dead end for the rest of the phase
+                top--;
+                continue;
+            }
+            int v = adj[cursor[u]++];
+            int w = mateRight[v];
+            if(w == -1) {
+                // the right node chosen by each left node of the stack is the last one visited
+                for(int l = top - 1; l >= 0; l--) {
+                    int ul = stack[l];
+                    int vl = adj[cursor[ul] - 1];
+                    mateLeft[ul] = vl;
+                    mateRight[vl] = ul;
+                }
+                return true;
+            } else if(dist[w] != INFINITY && dist[w] == dist[u] + 1) {
+                stack[top++] = w;
+            }
+        }
+        return false;
+    }
+}
@@ -5,17 +5,21 @@
 
 package alldifferentprec;
 
-import gnu.trove.map.hash.TIntIntHashMap;
 import java.util.Arrays;
 import java.util.stream.IntStream;
 
 public class IntUnionFind {
     private final int[] values;
-    private final TIntIntHashMap sets;
+    // index of the value a at a - offset, -1 if a is not a value
+    private final int[] sets;
+    private final int offset;
     private final int[] id;
-    private final int[] sizes;
+    private final int[] ranks;
     private final int[] mins;
     private final int[] maxs;
+    // undo stack of the unions, as (kept root, merged root, previous rank, min and max of the kept root)
+    private final int[] undoLog;
+    private int undoSize;
 
     private final int n;
 
@@ -27,29 +31,52 @@ public class IntUnionFind {
         this.values = values;
         Arrays.sort(this.values);
         n = values.length;
-        sets = new TIntIntHashMap(n, 0.5f, -1, -1);
+        offset = n > 0 ? this.values[0] : 0;
+        sets = new int[n > 0 ? this.values[n - 1] - offset + 1 : 0];
+        Arrays.fill(sets, -1);
         mins = new int[n];
         maxs = new int[n];
-        sizes = new int[n];
+        ranks = new int[n];
         id = new int[n];
         for(int i = 0; i < n; i++) {
-            sets.put(this.values[i], i);
+            sets[this.values[i] - offset] = i;
             mins[i] = this.values[i];
             maxs[i] = this.values[i];
             id[i] = i;
-            sizes[i] = 1;
         }
+        undoLog = new int[5 * n];
     }
 
+    /**
+     * Resets the sets to singletons, by undoing all the unions in O(number of unions).
+     */
     public void init() {
-        sets.clear();
-        for(int i = 0; i < n; i++) {
-            sets.put(this.values[i], i);
-            mins[i] = this.values[i];
-            maxs[i] = this.values[i];
-            sizes[i] = 1;
-            id[i] = i;
-            sizes[i] = 1;
+        rollback(0);
+    }
+
+    /**
+     * Returns a mark of the current state, to which the sets can be restored with rollback.
+     *
+     * @return the mark of the current state
+     */
+    public int checkpoint() {
+        return undoSize;
+    }
+
+    /**
+     * Restores the sets in the state of the given mark, by undoing the unions done since then in O(number of unions).
+     * The marks taken after the given one are no longer valid.
+     *
+     * @param mark a mark returned by checkpoint
+     */
+    public void rollback(int mark) {
+        while(undoSize > mark) {
+            undoSize -= 5;
+            int kept = undoLog[undoSize];
+            id[undoLog[undoSize + 1]] = undoLog[undoSize + 1];
+            ranks[kept] = undoLog[undoSize + 2];
+            mins[kept] = undoLog[undoSize + 3];
+            maxs[kept] = undoLog[undoSize + 4];
         }
     }
 
@@ -71,11 +98,14 @@ public class IntUnionFind {
         return maxs[idxSet];
     }
 
+    // no path compression, so that a union is undone by restoring two entries : the union by rank bounds the height by log(n)
     private int root(int a) {
-        int i = sets.get(a);
+        if(a < offset || a - offset >= sets.length) {
+            return -1;
+        }
+        int i = sets[a - offset];
         if(i >= 0) {
             while(id[i] != i) {
-                id[i] = id[id[i]];
                 i = id[i];
             }
         }
@@ -91,24 +121,38 @@ public class IntUnionFind {
     public void union(int a, int b) {
         int idx1 = root(a);
         int idx2 = root(b);
+        if(idx1 == idx2) {
+            return;
+        }
         int min = Math.min(mins[idx1], mins[idx2]);
         int max = Math.max(maxs[idx1], maxs[idx2]);
-        if(sizes[idx1] < sizes[idx2]) {
+        if(ranks[idx1] < ranks[idx2]) {
+            log(idx2, idx1);
             mins[idx2] = min;
             maxs[idx2] = max;
-            sizes[idx2] += sizes[idx1];
             id[idx1] = idx2;
         } else {
+            log(idx1, idx2);
             mins[idx1] = min;
             maxs[idx1] = max;
-            sizes[idx1] += sizes[idx2];
+            if(ranks[idx1] == ranks[idx2]) {
+                ranks[idx1]++;
+            }
             id[idx2] = idx1;
         }
     }
 
+    private void log(int kept, int merged) {
+        undoLog[undoSize++] = kept;
+        undoLog[undoSize++] = merged;
+        undoLog[undoSize++] = ranks[kept];
+        undoLog[undoSize++] = mins[kept];
+        undoLog[undoSize++] = maxs[kept];
+    }
+
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder(sets.toString());
+        StringBuilder sb = new StringBuilder("values : ").append(Arrays.toString(values));
         sb.append("\n");
         sb.append("mins : ").append(Arrays.toString(mins)).append("\n");
         sb.append("maxs : ").append(Arrays.toString(maxs)).append("\n");
@@ -0,0 +1,141 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+/**
+ * Precedence relation of the transitive closure stored as a bit-matrix packed in long words :
+ * the row of node i is the set of nodes j such that i is before j.
+ * It uses n^2 / 8 bytes instead of the n^2 bytes of a boolean matrix, and the rows can be scanned word by word.
+ * The matrix is built once and is shared (read-only) by the propagator and its filtering algorithm.
+ */
+public class PrecedenceMatrix {
+    private final int n;
+    private final int nbWords;
+    private final long[] rows;
+
+    /**
+     * Creates the precedence matrix from the given words, which are not copied.
+     *
+     * @param n the number of nodes
+     * @param nbWords the number of words of a row
+     * @param rows the rows, stored one after the other
+     */
+    PrecedenceMatrix(int n, int nbWords, long[] rows) {
+        this.n = n;
+        this.nbWords = nbWords;
+        this.rows = rows;
+    }
+
+    /**
+     * Creates the precedence matrix from a boolean matrix, such that precedence[i][j] = true iff i is before j.
+     *
+     * @param precedence the boolean precedence matrix
+     */
+    public PrecedenceMatrix(boolean[][] precedence) {
+        this.n = precedence.length;
+        this.nbWords = (n + 63) >>> 6;
+        this.rows = new long[n * nbWords];
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < n; j++) {
+                if(precedence[i][j]) {
+                    rows[i * nbWords + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+    }
+
+    public int getNbNodes() {
+        return n;
+    }
+
+    public int getNbWords() {
+        return nbWords;
+    }
+
+    /**
+     * Returns true iff node i is before node j.
+     *
+     * @param i the first node
+     * @param j the second node
+     * @return true iff i is before j
+     */
+    public boolean isBefore(int i, int j) {
+        return (rows[i * nbWords + (j >>> 6)] & 1L << j) != 0;
+    }
+
+    /**
+     * Returns true iff node i is before or after node j.
+     *
+     * @param i the first node
+     * @param j the second node
+     * @return true iff i and j are ordered
+     */
+    public boolean areOrdered(int i, int j) {
+        return isBefore(i, j) || isBefore(j, i);
+    }
+
+    /**
+     * Returns the w-th word of the row of node i, whose bit k is set iff i is before the node 64 * w + k.
+     *
+     * @param i the node
+     * @param w the index of the word
+     * @return the w-th word of the row of i
+     */
+    public long getWord(int i, int w) {
+        return rows[i * nbWords + w];
+    }
+
+    /**
+     * Returns the smallest node j greater than or equal to from such that i is before j, or -1 if there is none.
+     *
+     * @param i the node
+     * @param from the first node to consider
+     * @return the next successor of i from the given node, or -1
+     */
+    public int nextAfter(int i, int from) {
+        if(from >= n) {
+            return -1;
+        }
+        int row = i * nbWords;
+        int w = from >>> 6;
+        long word = rows[row + w] & -1L << from;
+        while(word == 0) {
+            if(++w == nbWords) {
+                return -1;
+            }
+            word = rows[row + w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the number of nodes that node i is before.
+     *
+     * @param i the node
+     * @return the number of successors of i in the transitive closure
+     */
+    public int getNbAfter(int i) {
+        int count = 0;
+        for(int w = i * nbWords; w < (i + 1) * nbWords; w++) {
+            count += Long.bitCount(rows[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the precedence relation as a boolean matrix, such that precedence[i][j] = true iff i is before j.
+     *
+     * @return the boolean precedence matrix
+     */
+    public boolean[][] toBooleanMatrix() {
+        boolean[][] precedence = new boolean[n][n];
+        for(int i = 0; i < n; i++) {
+            for(int j = nextAfter(i, 0); j >= 0; j = nextAfter(i, j + 1)) {
+                precedence[i][j] = true;
+            }
+        }
+        return precedence;
+    }
+}
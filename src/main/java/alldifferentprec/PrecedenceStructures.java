@@ -0,0 +1,227 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import data.PrecedenceGraph;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Structures derived from a precedence graph that are needed to build the AllDiffPrec constraint :
+ * the transitive closure (ancestors and descendants), the precedence matrix and the topological traversal.
+ * They can be stored in a cache directory, in files named after a hash of the precedence graph,
+ * so that later runs on the same instance reload them instead of computing them again.
+ */
+public class PrecedenceStructures {
+    private static final String EXTENSION = ".prec";
+    private static final int MAGIC = 0x50524543; // "PREC"
+    private static final int VERSION = 3;
+
+    private final int[][] ancestors;
+    private final int[][] descendants;
+    private final PrecedenceMatrix precedence;
+    private final TopologicalTraversal topologicalTraversal;
+
+    private PrecedenceStructures(int[][] ancestors, int[][] descendants, PrecedenceMatrix precedence, TopologicalTraversal topologicalTraversal) {
+        this.ancestors = ancestors;
+        this.descendants = descendants;
+        this.precedence = precedence;
+        this.topologicalTraversal = topologicalTraversal;
+    }
+
+    /**
+     * Computes the structures derived from the precedence graph.
+     *
+     * @param graph the precedence graph
+     * @return the derived structures
+     */
+    public static PrecedenceStructures compute(PrecedenceGraph graph) {
+        TransitiveClosure closure = new TransitiveClosure(graph);
+        int[][] ancestors = closure.getAncestorsMatrix();
+        int[][] descendants = closure.getDescendantsMatrix();
+        PrecedenceMatrix precedence = closure.getPrecedenceMatrix();
+        TopologicalTraversal topologicalTraversal = TopologicalTraversal.of(graph);
+        return new PrecedenceStructures(ancestors, descendants, precedence, topologicalTraversal);
+    }
+
+    /**
+     * Loads the structures derived from the precedence graph from the cache directory if they have already been stored,
+     * otherwise computes them and stores them in the cache directory.
+     * Failing to read or write the cache is not an error : the structures are then simply computed.
+     *
+     * @param graph the precedence graph
+     * @param cacheDir the cache directory
+     * @return the derived structures
+     */
+    public static PrecedenceStructures load(PrecedenceGraph graph, String cacheDir) {
+        Path path = Paths.get(cacheDir, hash(graph) + EXTENSION);
+        if(Files.isRegularFile(path)) {
+            try {
+                return read(path, graph.getNbNodes());
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ignoring invalid cache file " + path + " : " + e.getMessage());
+            }
+        }
+        PrecedenceStructures structures = compute(graph);
+        try {
+            structures.write(path);
+        } catch (IOException e) {
+            System.err.println("Cannot write cache file " + path + " : " + e.getMessage());
+        }
+        return structures;
+    }
+
+    public int[][] getAncestors() {
+        return ancestors;
+    }
+
+    public int[][] getDescendants() {
+        return descendants;
+    }
+
+    public PrecedenceMatrix getPrecedence() {
+        return precedence;
+    }
+
+    public TopologicalTraversal getTopologicalTraversal() {
+        return topologicalTraversal;
+    }
+
+    //***********************************************************************************
+    // Cache files
+    //***********************************************************************************
+
+    /**
+     * Returns the hexadecimal SHA-256 hash of the precedence graph.
+     *
+     * @param graph the precedence graph
+     * @return the hash of the graph
+     */
+    private static String hash(PrecedenceGraph graph) {
+        int n = graph.getNbNodes();
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (2 + n + graph.getNbArcs()));
+        buffer.putInt(n);
+        buffer.putInt(graph.getNbArcs());
+        for(int i = 0; i < n; i++) {
+            buffer.putInt(graph.getNbSuccessors(i));
+        }
+        for(int i = 0; i < n; i++) {
+            for(int k = 0; k < graph.getNbSuccessors(i); k++) {
+                buffer.putInt(graph.getSuccessor(i, k));
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(buffer.array());
+            StringBuilder sb = new StringBuilder();
+            for(byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void write(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        File tmp = File.createTempFile("prec", ".tmp", path.getParent().toFile());
+        int n = topologicalTraversal.getNbNodes();
+        // the temporary file is deleted on failure, so that failed writes do not pile up in the cache directory
+        try {
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(n);
+                for(int i = 0; i < n; i++) {
+                    out.writeInt(ancestors[i].length);
+                }
+                for(int i = 0; i < n; i++) {
+                    out.writeInt(descendants[i].length);
+                }
+                for(int i = 0; i < n; i++) {
+                    for(int a : ancestors[i]) {
+                        out.writeInt(a);
+                    }
+                }
+                for(int i = 0; i < n; i++) {
+                    for(int d : descendants[i]) {
+                        out.writeInt(d);
+                    }
+                }
+                for(int t : topologicalTraversal.getOrder()) {
+                    out.writeInt(t);
+                }
+                out.writeInt(topologicalTraversal.getNbLayers());
+                for(int l : topologicalTraversal.getLayerStarts()) {
+                    out.writeInt(l);
+                }
+                // precedence bit-matrix, row by row
+                for(int i = 0; i < n; i++) {
+                    for(int w = 0; w < precedence.getNbWords(); w++) {
+                        out.writeLong(precedence.getWord(i, w));
+                    }
+                }
+            }
+            // the move is atomic so that concurrent runs never read a partially written file
+            Files.move(tmp.toPath(), path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp.toPath());
+            throw e;
+        }
+    }
+
+    private static PrecedenceStructures read(Path path, int expectedSize) throws IOException {
+        MappedByteBuffer buffer;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        IntBuffer ints = buffer.asIntBuffer();
+        if(ints.get() != MAGIC || ints.get() != VERSION) {
+            throw new IOException("wrong magic number or version");
+        }
+        int n = ints.get();
+        if(n != expectedSize) {
+            throw new IOException("wrong number of nodes");
+        }
+        int[][] ancestors = new int[n][];
+        int[][] descendants = new int[n][];
+        for(int i = 0; i < n; i++) {
+            ancestors[i] = new int[ints.get()];
+        }
+        for(int i = 0; i < n; i++) {
+            descendants[i] = new int[ints.get()];
+        }
+        for(int i = 0; i < n; i++) {
+            ints.get(ancestors[i]);
+        }
+        for(int i = 0; i < n; i++) {
+            ints.get(descendants[i]);
+        }
+        int[] order = new int[n];
+        ints.get(order);
+        int[] layerStarts = new int[ints.get() + 1];
+        ints.get(layerStarts);
+        TopologicalTraversal topologicalTraversal = new TopologicalTraversal(order, layerStarts);
+        int nbWords = (n + 63) >>> 6;
+        long[] rows = new long[n * nbWords];
+        buffer.position(4 * ints.position());
+        buffer.asLongBuffer().get(rows);
+        return new PrecedenceStructures(ancestors, descendants, new PrecedenceMatrix(n, nbWords, rows), topologicalTraversal);
+    }
+}
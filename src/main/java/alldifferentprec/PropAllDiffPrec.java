@@ -5,20 +5,19 @@
 
 package alldifferentprec;
 
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.stream.IntStream;
+import data.PrecedenceGraph;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.graphs.DirectedGraph;
-import org.chocosolver.util.objects.setDataStructures.ISetIterator;
-import org.chocosolver.util.objects.setDataStructures.SetType;
 
 /**
  * Propagator for the AllDiffPrec constraint.
@@ -27,34 +26,91 @@ import org.chocosolver.util.objects.setDataStructures.SetType;
  */
 public class PropAllDiffPrec extends Propagator<IntVar> {
     private final IntVar[] variables;
-    private final boolean[][] precedence;
+    private final PrecedenceMatrix precedence;
     private final FilterAllDiffPrec filter;
     private final AlgoAllDiffBC allDiffBC;
-    private final DirectedGraph precGraph;
+    private final DirectedGraph2 precGraph;
     private final int[] topologicalTraversal;
+    // position of each variable in the topological traversal
+    private final int[] positions;
+    // positions (in the topological traversal) of the variables whose bounds must be pushed along the precedences
+    private final BitSet lbToPush;
+    private final BitSet ubToPush;
+    // bounds saved before running a filtering algorithm, to find the variables it has modified
+    private final int[] lbs;
+    private final int[] ubs;
 
     public PropAllDiffPrec(IntVar[] variables, int[][] predecessors, int[][] successors, String filter) {
         this(variables, buildPrecedence(predecessors, successors), filter);
     }
 
+    public PropAllDiffPrec(IntVar[] variables, PrecedenceGraph precedenceGraph, String filter) {
+        this(variables, buildPrecedenceMatrix(precedenceGraph), filter);
+    }
+
     public PropAllDiffPrec(IntVar[] variables, boolean[][] precedence, String filter) {
+        this(variables, new PrecedenceMatrix(precedence), filter);
+    }
+
+    public PropAllDiffPrec(IntVar[] variables, PrecedenceMatrix precedence, String filter) {
         this(variables, precedence, buildFilter(variables, precedence, filter));
     }
 
-    public PropAllDiffPrec(IntVar[] variables, boolean[][] precedence, FilterAllDiffPrec filter) {
-        super(variables, filter.getPriority(), false);
+    public PropAllDiffPrec(IntVar[] variables, PrecedenceStructures structures, String filter) {
+        this(variables, structures, filter, false);
+    }
+
+    /**
+     * Creates the propagator from the structures derived from the precedence graph.
+     * If transitiveReduction is true, the bounds are propagated over the transitive reduction of the precedence graph
+     * instead of its transitive closure : this visits far fewer arcs per sweep and reaches the same fixpoint,
+     * as the sweeps follow the topological order.
+     *
+     * @param variables the variables
+     * @param structures the structures derived from the precedence graph
+     * @param filter the filtering algorithm to select
+     * @param transitiveReduction true iff the bounds are propagated over the transitive reduction
+     */
+    public PropAllDiffPrec(IntVar[] variables, PrecedenceStructures structures, String filter, boolean transitiveReduction) {
+        this(
+            variables,
+            structures.getPrecedence(),
+            buildFilter(variables, structures.getPrecedence(), filter),
+            structures.getTopologicalTraversal(),
+            transitiveReduction
+        );
+    }
+
+    public PropAllDiffPrec(IntVar[] variables, PrecedenceMatrix precedence, FilterAllDiffPrec filter) {
+        this(variables, precedence, filter, false);
+    }
+
+    public PropAllDiffPrec(IntVar[] variables, PrecedenceMatrix precedence, FilterAllDiffPrec filter, boolean transitiveReduction) {
+        this(variables, precedence, filter, null, transitiveReduction);
+    }
+
+    private PropAllDiffPrec(IntVar[] variables, PrecedenceMatrix precedence, FilterAllDiffPrec filter, TopologicalTraversal traversal, boolean transitiveReduction) {
+        super(variables, filter.getPriority(), true);
         this.variables = variables;
         this.precedence = precedence;
         this.filter = filter;
-        if(filter instanceof AllDiffPrec) {
+        if(filter instanceof AllDiffPrec || filter instanceof HallChainBounds) {
             allDiffBC = new AlgoAllDiffBC(this);
             allDiffBC.reset(vars);
         } else {
             allDiffBC = null;
         }
 
-        precGraph = buildPrecGraph(precedence);
-        topologicalTraversal = buildTopologicalTraversal(precGraph);
+        precGraph = transitiveReduction ? buildReducedPrecGraph(precedence) : buildPrecGraph(precedence);
+        this.topologicalTraversal = (traversal != null ? traversal : TopologicalTraversal.of(precGraph)).getOrder();
+        this.positions = new int[variables.length];
+        for(int k = 0; k < topologicalTraversal.length; k++) {
+            positions[topologicalTraversal[k]] = k;
+        }
+        this.lbToPush = new BitSet(variables.length);
+        this.ubToPush = new BitSet(variables.length);
+        this.lbs = new int[variables.length];
+        this.ubs = new int[variables.length];
     }
 
     @Override
@@ -62,48 +118,128 @@ public class PropAllDiffPrec extends Propagator<IntVar> {
         return filter.getPropagationConditions(vIdx);
     }
 
-    private boolean updateBound(boolean lb) throws ContradictionException {
-        boolean hasFiltered = false;
-        ISetIterator iterator;
-        for(int k = 0; k < topologicalTraversal.length; k++) {
-            int var = lb ? topologicalTraversal[k] : topologicalTraversal[topologicalTraversal.length-1-k];
-            iterator = lb ? precGraph.getSuccOf(var).iterator() : precGraph.getPredOf(var).iterator();
-            while(iterator.hasNext()) {
-                int rel = iterator.nextInt();
-                if(lb) { // rel is a successor of var
-                    if(variables[rel].updateLowerBound(variables[var].getLB() + 1, this)) {
-                        hasFiltered = true;
+    /**
+     * Marks the variable at the given index as having its lower bound to push to its successors.
+     */
+    private void markLowerBound(int var) {
+        lbToPush.set(positions[var]);
+    }
+
+    /**
+     * Marks the variable at the given index as having its upper bound to push to its predecessors.
+     */
+    private void markUpperBound(int var) {
+        ubToPush.set(positions[var]);
+    }
+
+    /**
+     * Pushes the marked lower bounds to the successors, in the topological order so that each variable is visited at most once.
+     */
+    private void pushLowerBounds() throws ContradictionException {
+        for(int k = lbToPush.nextSetBit(0); k >= 0; k = lbToPush.nextSetBit(k + 1)) {
+            lbToPush.clear(k);
+            int var = topologicalTraversal[k];
+            int lb = variables[var].getLB() + 1;
+            for(int w = 0; w < precGraph.getNbWords(); w++) {
+                long word = precGraph.getSuccWord(var, w);
+                while(word != 0) {
+                    int succ = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if(variables[succ].updateLowerBound(lb, this)) {
+                        markLowerBound(succ); // succ is after var in the traversal
                     }
-                } else { // rel is a predecessor of var
-                    if(variables[rel].updateUpperBound(variables[var].getUB() - 1, this)) {
-                        hasFiltered = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pushes the marked upper bounds to the predecessors, in the reverse topological order so that each variable is visited at most once.
+     */
+    private void pushUpperBounds() throws ContradictionException {
+        for(int k = ubToPush.previousSetBit(topologicalTraversal.length - 1); k >= 0; k = ubToPush.previousSetBit(k - 1)) {
+            ubToPush.clear(k);
+            int var = topologicalTraversal[k];
+            int ub = variables[var].getUB() - 1;
+            for(int w = 0; w < precGraph.getNbWords(); w++) {
+                long word = precGraph.getPredWord(var, w);
+                while(word != 0) {
+                    int pred = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if(variables[pred].updateUpperBound(ub, this)) {
+                        markUpperBound(pred); // pred is before var in the traversal
                     }
                 }
             }
         }
-        return hasFiltered;
+    }
+
+    private void saveBounds() {
+        for(int i = 0; i < variables.length; i++) {
+            lbs[i] = variables[i].getLB();
+            ubs[i] = variables[i].getUB();
+        }
+    }
+
+    /**
+     * Marks the variables whose bounds have been modified since the last call to saveBounds().
+     *
+     * @return true iff a bound has been modified
+     */
+    private boolean markModifiedBounds() {
+        boolean modified = false;
+        for(int i = 0; i < variables.length; i++) {
+            if(variables[i].getLB() != lbs[i]) {
+                markLowerBound(i);
+                modified = true;
+            }
+            if(variables[i].getUB() != ubs[i]) {
+                markUpperBound(i);
+                modified = true;
+            }
+        }
+        return modified;
     }
 
     private void filterPrecedenceAndBounds() throws ContradictionException {
-        boolean hasFiltered;
         do {
-            hasFiltered = updateBound(true);
-            hasFiltered |= updateBound(false);
+            pushLowerBounds();
+            pushUpperBounds();
             if(allDiffBC != null) {
-                hasFiltered |= allDiffBC.filter();
+                saveBounds();
+                allDiffBC.filter();
+                markModifiedBounds();
             }
-        } while(hasFiltered);
+        } while(!lbToPush.isEmpty() || !ubToPush.isEmpty());
     }
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
+        if(PropagatorEventType.isFullPropagation(evtmask)) {
+            lbToPush.set(0, variables.length);
+            ubToPush.set(0, variables.length);
+        }
         boolean hasFiltered;
         do {
             filterPrecedenceAndBounds(); // idempotent, no need to register hasFiltered
+            saveBounds();
             hasFiltered = filter.propagate(precGraph, topologicalTraversal, this);
+            markModifiedBounds();
         } while(hasFiltered);
     }
 
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        // the bounds are only pushed along the arcs of the modified variables, the filtering algorithm runs at the coarse fixpoint
+        if(IntEventType.isInstantiate(mask) || IntEventType.isInclow(mask)) {
+            markLowerBound(idxVarInProp);
+        }
+        if(IntEventType.isInstantiate(mask) || IntEventType.isDecupp(mask)) {
+            markUpperBound(idxVarInProp);
+        }
+        forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+    }
+
     @Override
     public ESat isEntailed() {
         if(isCompletelyInstantiated()) {
@@ -111,8 +247,8 @@ public class PropAllDiffPrec extends Propagator<IntVar> {
                 for(int j = i + 1; j < variables.length; j++) {
                     if(
                         variables[i].getValue() == variables[j].getValue()
-                            || precedence[i][j] && variables[i].getValue() > variables[j].getValue()
-                            || precedence[j][i] && variables[i].getValue() < variables[j].getValue()
+                            || precedence.isBefore(i, j) && variables[i].getValue() > variables[j].getValue()
+                            || precedence.isBefore(j, i) && variables[i].getValue() < variables[j].getValue()
                     ) {
                         return ESat.FALSE;
                     }
@@ -135,45 +271,17 @@ public class PropAllDiffPrec extends Propagator<IntVar> {
      * @return the ancestors matrix
      */
     public static int[][] buildAncestors(int[][] predecessors, int[][] successors) {
-        int n = predecessors.length;
-        int[][] ancestors = new int[n][];
-        HashSet<Integer>[] sets = new HashSet[n];
-        LinkedList<Integer> list = new LinkedList<>();
-        boolean[] done = new boolean[n];
-        for(int i = 0; i < n; i++) {
-            sets[i] = new HashSet<>(n);
-            if(predecessors[i].length == 0) {
-                list.addLast(i);
-            }
-        }
-        while(!list.isEmpty()) {
-            int i = list.removeFirst();
-            if(!done[i]) {
-                boolean allDone = true;
-                for(int j = 0; j < predecessors[i].length && allDone; j++) {
-                    allDone = done[predecessors[i][j]];
-                }
-                if(allDone) {
-                    for(int j = 0; j < predecessors[i].length; j++) {
-                        sets[i].add(predecessors[i][j]);
-                        sets[i].addAll(sets[predecessors[i][j]]);
-                    }
-                    for(int j = 0; j < successors[i].length; j++) {
-                        list.addLast(successors[i][j]);
-                    }
-                    done[i] = true;
-                }
-            }
-        }
-        for(int i = 0; i < n; i++) {
-            ancestors[i] = new int[sets[i].size()];
-            Iterator<Integer> iter = sets[i].iterator();
-            int j = 0;
-            while(iter.hasNext()) {
-                ancestors[i][j++] = iter.next();
-            }
-        }
-        return ancestors;
+        return buildAncestors(new PrecedenceGraph(successors));
+    }
+
+    /**
+     * Builds the ancestors matrix.
+     *
+     * @param graph the precedence graph
+     * @return the ancestors matrix
+     */
+    public static int[][] buildAncestors(PrecedenceGraph graph) {
+        return new TransitiveClosure(graph).getAncestorsMatrix();
     }
 
     /**
@@ -184,45 +292,17 @@ public class PropAllDiffPrec extends Propagator<IntVar> {
      * @return the descendants matrix
      */
     public static int[][] buildDescendants(int[][] predecessors, int[][] successors) {
-        int n = successors.length;
-        int[][] descendants = new int[n][];
-        HashSet<Integer>[] sets = new HashSet[n];
-        LinkedList<Integer> list = new LinkedList<>();
-        boolean[] done = new boolean[n];
-        for(int i = 0; i < n; i++) {
-            sets[i] = new HashSet<>();
-            if(successors[i].length == 0) {
-                list.addLast(i);
-            }
-        }
-        while(!list.isEmpty()) {
-            int i = list.removeFirst();
-            if(!done[i]) {
-                boolean allDone = true;
-                for(int j = 0; j < successors[i].length && allDone; j++) {
-                    allDone = done[successors[i][j]];
-                }
-                if(allDone) {
-                    for(int j = 0; j < successors[i].length; j++) {
-                        sets[i].add(successors[i][j]);
-                        sets[i].addAll(sets[successors[i][j]]);
-                    }
-                    for(int j = 0; j < predecessors[i].length; j++) {
-                        list.addLast(predecessors[i][j]);
-                    }
-                    done[i] = true;
-                }
-            }
-        }
-        for(int i = 0; i < n; i++) {
-            descendants[i] = new int[sets[i].size()];
-            Iterator<Integer> iter = sets[i].iterator();
-            int j = 0;
-            while(iter.hasNext()) {
-                descendants[i][j++] = iter.next();
-            }
-        }
-        return descendants;
+        return buildDescendants(new PrecedenceGraph(successors));
+    }
+
+    /**
+     * Builds the descendants matrix.
+     *
+     * @param graph the precedence graph
+     * @return the descendants matrix
+     */
+    public static int[][] buildDescendants(PrecedenceGraph graph) {
+        return new TransitiveClosure(graph).getDescendantsMatrix();
     }
 
     /**
@@ -257,6 +337,20 @@ public class PropAllDiffPrec extends Propagator<IntVar> {
         return buildPrecedence(predecessors, successors, false);
     }
 
+    public static boolean[][] buildPrecedence(PrecedenceGraph graph) {
+        return new TransitiveClosure(graph).toPrecedenceMatrix();
+    }
+
+    /**
+     * Returns the precedence bit-matrix of the transitive closure of the given graph.
+     *
+     * @param graph the precedence graph
+     * @return the precedence bit-matrix
+     */
+    public static PrecedenceMatrix buildPrecedenceMatrix(PrecedenceGraph graph) {
+        return new TransitiveClosure(graph).getPrecedenceMatrix();
+    }
+
     /**
      * Returns the precedence matrix, such that precedence[v][w] = true iff v is a predecessor of w.
      *
@@ -266,74 +360,77 @@ public class PropAllDiffPrec extends Propagator<IntVar> {
      * @return the precedence matrix
      */
     public static boolean[][] buildPrecedence(int[][] predecessors, int[][] successors, boolean alreadyComputed) {
-        int[][] ancestors = alreadyComputed ? predecessors : buildAncestors(predecessors, successors);
-        int[][] descendants = alreadyComputed ? successors : buildDescendants(predecessors, successors);
+        if(!alreadyComputed) {
+            return new TransitiveClosure(new PrecedenceGraph(successors)).toPrecedenceMatrix();
+        }
         int n = predecessors.length;
         boolean[][] precedence = new boolean[n][n];
         for(int i = 0; i < n; i++) {
-            precedence[i][i] = false;
-            for(int j = i + 1; j < n; j++) {
-                if(contains(ancestors[i], j)) {
-                    precedence[j][i] = true;
-                } else if(contains(descendants[i], j)) {
-                    precedence[i][j] = true;
-                }
-                // nothing to do in the else case
+            for(int a : predecessors[i]) {
+                precedence[a][i] = true;
+            }
+            for(int d : successors[i]) {
+                precedence[i][d] = true;
             }
         }
         return precedence;
     }
 
-    public static DirectedGraph buildPrecGraph(boolean[][] precedence) {
-        int n = precedence.length;
-        DirectedGraph precGraph = new DirectedGraph(n, SetType.BITSET, true);
+    public static DirectedGraph2 buildPrecGraph(boolean[][] precedence) {
+        return buildPrecGraph(new PrecedenceMatrix(precedence));
+    }
+
+    public static DirectedGraph2 buildPrecGraph(PrecedenceMatrix precedence) {
+        int n = precedence.getNbNodes();
+        DirectedGraph2 precGraph = new DirectedGraph2(n);
         for(int v = 0; v < n; v++) {
-            for(int w = v + 1; w < n; w++) {
-                if(precedence[v][w]) {
-                    precGraph.addArc(v, w);
-                } else if(precedence[w][v]) {
-                    precGraph.addArc(w, v);
-                }
+            for(int w = precedence.nextAfter(v, 0); w >= 0; w = precedence.nextAfter(v, w + 1)) {
+                precGraph.addArc(v, w);
             }
         }
         return precGraph;
     }
 
     /**
-     * Builds the topological traversal of the given precedence graph.
+     * Builds the transitive reduction of the precedence graph : the arc (v,w) is kept iff v is before w
+     * and there is no node u such that v is before u and u is before w.
+     * Each arc of the reduction is the only path between its endpoints, so that a longest chain of the closure
+     * is a path of the reduction and bounds pushed along the reduction in a topological order reach the longest-chain bounds.
      *
-     * @param precGraph the precedence graph
-     * @return the topological traversal
+     * @param precedence the precedence bit-matrix of the transitive closure
+     * @return the transitive reduction of the precedence graph
      */
-    public static int[] buildTopologicalTraversal(DirectedGraph precGraph) {
-        int n = precGraph.getNbMaxNodes();
-        int[] depth = new int[n];
-        LinkedList<Integer> queue = new LinkedList<>();
+    public static DirectedGraph2 buildReducedPrecGraph(PrecedenceMatrix precedence) {
+        int n = precedence.getNbNodes();
+        int nbWords = precedence.getNbWords();
+        long[] implied = new long[nbWords];
+        DirectedGraph2 precGraph = new DirectedGraph2(n);
         for(int v = 0; v < n; v++) {
-            if(precGraph.getPredOf(v).isEmpty()) {
-                queue.addLast(v);
-            }
-        }
-        while(!queue.isEmpty()) {
-            int v = queue.removeFirst();
-            ISetIterator iterator = precGraph.getPredOf(v).iterator();
-            while(iterator.hasNext()) {
-                int pre = iterator.nextInt();
-                depth[v] = Math.max(depth[v], depth[pre] + 1);
+            Arrays.fill(implied, 0L);
+            for(int u = precedence.nextAfter(v, 0); u >= 0; u = precedence.nextAfter(v, u + 1)) {
+                for(int k = 0; k < nbWords; k++) {
+                    implied[k] |= precedence.getWord(u, k);
+                }
             }
-            iterator = precGraph.getSuccOf(v).iterator();
-            while(iterator.hasNext()) {
-                int succ = iterator.nextInt();
-                if(!queue.contains(succ)) {
-                    queue.addLast(succ);
+            for(int k = 0; k < nbWords; k++) {
+                long word = precedence.getWord(v, k) & ~implied[k];
+                while(word != 0) {
+                    precGraph.addArc(v, (k << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
                 }
             }
         }
-        return IntStream.range(0, n)
-                        .boxed()
-                        .sorted(Comparator.comparingInt(i -> depth[i]))
-                        .mapToInt(i -> i)
-                        .toArray();
+        return precGraph;
+    }
+
+    /**
+     * Builds the topological traversal of the given precedence graph : the nodes sorted by increasing depth, then by increasing index.
+     *
+     * @param precGraph the precedence graph
+     * @return the topological traversal
+     */
+    public static int[] buildTopologicalTraversal(DirectedGraph precGraph) {
+        return TopologicalTraversal.of(precGraph).getOrder();
     }
 
     /**
@@ -346,16 +443,50 @@ public class PropAllDiffPrec extends Propagator<IntVar> {
      * @return the precedence matrix
      */
     public static BoolVar[][] buildPrecedenceVars(Model model, int[][] predecessors, int[][] successors) {
-        int[][] ancestors = buildAncestors(predecessors, successors);
-        int[][] descendants = buildDescendants(predecessors, successors);
-        int n = predecessors.length;
+        return buildPrecedenceVars(model, new PrecedenceGraph(successors));
+    }
+
+    /**
+     * Returns the precedence variables matrix, such that precedence[v][w] = true iff v is a predecessor of w.
+     * The precedence variables are not instantiated if the precedence relation is not known.
+     *
+     * @param model the model
+     * @param graph the precedence graph
+     * @return the precedence matrix
+     */
+    public static BoolVar[][] buildPrecedenceVars(Model model, PrecedenceGraph graph) {
+        return buildPrecedenceVars(model, buildPrecedenceMatrix(graph));
+    }
+
+    /**
+     * Returns the precedence variables matrix, such that precedence[v][w] = true iff v is a predecessor of w.
+     * The precedence variables are not instantiated if the precedence relation is not known.
+     *
+     * @param model the model
+     * @param prec the precedence matrix of the transitive closure
+     * @return the precedence matrix
+     */
+    public static BoolVar[][] buildPrecedenceVars(Model model, boolean[][] prec) {
+        return buildPrecedenceVars(model, new PrecedenceMatrix(prec));
+    }
+
+    /**
+     * Returns the precedence variables matrix, such that precedence[v][w] = true iff v is a predecessor of w.
+     * The precedence variables are not instantiated if the precedence relation is not known.
+     *
+     * @param model the model
+     * @param prec the precedence bit-matrix of the transitive closure
+     * @return the precedence matrix
+     */
+    public static BoolVar[][] buildPrecedenceVars(Model model, PrecedenceMatrix prec) {
+        int n = prec.getNbNodes();
         BoolVar[][] precedence = new BoolVar[n][n];
         for(int i = 0; i < n; i++) {
             precedence[i][i] = model.boolVar(false);
             for(int j = i + 1; j < n; j++) {
-                if(contains(ancestors[i], j)) {
+                if(prec.isBefore(j, i)) {
                     precedence[i][j] = model.boolVar(false);
-                } else if(contains(descendants[i], j)) {
+                } else if(prec.isBefore(i, j)) {
                     precedence[i][j] = model.boolVar(true);
                 } else {
                     precedence[i][j] = model.boolVar("precedence["+i+"]["+j+"]");
@@ -366,21 +497,45 @@ public class PropAllDiffPrec extends Propagator<IntVar> {
         return precedence;
     }
 
+    /** See {@link #buildFilter(IntVar[], PrecedenceMatrix, String)}, with the precedence given as a boolean matrix. */
+    public static FilterAllDiffPrec buildFilter(IntVar[] variables, boolean[][] precedence, String filt) {
+        return buildFilter(variables, new PrecedenceMatrix(precedence), filt);
+    }
+
     /**
      * Returns the filtering algorithm structure for the given variables, the precedence and whose behaviour is one of the following:
-     * BESSIERE, GREEDY, GREEDY_RC, GODET_RC, GODET_BC or DEFAULT (which is GODET_BC).
+     * BESSIERE, GREEDY, GREEDY_RC, HALL_CHAIN, ADAPTIVE, GODET, GODET_RC, GODET_HK, GODET_RC_HK, GODET_PAR, GODET_RC_PAR
+     * or DEFAULT (which is GODET, as any other name).
+     * HALL_CHAIN is a fast filter which does not ensure bound consistency : it is strictly weaker than the other filters.
+     * It counts the chains of descendants and ancestors, in O(n^2/64 + E) per call where E is the number of arcs of the
+     * precedence graph (Theta(n^2) in the worst case on the transitive closure), and relies on AlgoAllDiffBC,
+     * in O(n log n), for the Hall intervals.
+     * ADAPTIVE selects at each call between GREEDY and GODET_RC, depending on the values they prune per microsecond.
+     * The GODET filters suffixed by _HK compute the maximum matchings with the Hopcroft-Karp algorithm,
+     * and the ones suffixed by _PAR check the supports in parallel on the common fork-join pool.
      *
      * @param variables the variables
-     * @param precedence the precedence matrix
+     * @param precedence the precedence bit-matrix
      * @param filt the filtering algorithm to select
      * @return the filtering algorithm
      */
-    public static FilterAllDiffPrec buildFilter(IntVar[] variables, boolean[][] precedence, String filt) {
+    public static FilterAllDiffPrec buildFilter(IntVar[] variables, PrecedenceMatrix precedence, String filt) {
         switch(filt) {
             case "BESSIERE": return new AllDiffPrec(variables, precedence);
             case "GREEDY": return new GreedyBoundSupport(variables, precedence);
             case "GREEDY_RC": return new GreedyBoundSupport(variables, precedence, true);
+            case "HALL_CHAIN": return new HallChainBounds(variables, precedence);
+            case "ADAPTIVE": return new AdaptiveFilter(
+                variables,
+                precedence,
+                new GreedyBoundSupport(variables, precedence),
+                new AllDiffPrecMoreThanBc(variables, precedence, true)
+            );
             case "GODET_RC": return new AllDiffPrecMoreThanBc(variables, precedence, true);
+            case "GODET_HK": return new AllDiffPrecMoreThanBc(variables, precedence, false, true);
+            case "GODET_RC_HK": return new AllDiffPrecMoreThanBc(variables, precedence, true, true);
+            case "GODET_PAR": return new AllDiffPrecMoreThanBc(variables, precedence, false, false, ForkJoinPool.getCommonPoolParallelism());
+            case "GODET_RC_PAR": return new AllDiffPrecMoreThanBc(variables, precedence, true, false, ForkJoinPool.getCommonPoolParallelism());
             case "GODET":
             case "DEFAULT":
             default: return new AllDiffPrecMoreThanBc(variables, precedence);
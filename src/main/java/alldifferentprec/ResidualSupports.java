@@ -0,0 +1,111 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import java.util.Arrays;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * Residual supports of the AllDiffPrec constraint : the solutions found by the support checks of a filtering algorithm
+ * are stored, and each pair (var, val) points to the last stored solution assigning val to var.
+ * As long as this solution still fits the current domains, the pair is supported and its check can be skipped.
+ * A solution supports its n pairs at once. At most nbWitnesses solutions are kept, the oldest ones being overwritten.
+ */
+public class ResidualSupports {
+    private final int n;
+    private final int minValue;
+    private final int nbValues;
+    // slot of the witness of each pair (var, val), at index var * nbValues + val - minValue
+    private final int[] residues;
+    private final int[][] witnesses;
+    private int nextSlot;
+    // stamp of the last stored solution using each value, to check that the values are pairwise different
+    private final int[] valueStamps;
+    private int stamp;
+
+    /**
+     * Creates the residual supports for n variables whose values are in [minValue, maxValue].
+     *
+     * @param n the number of variables
+     * @param minValue the smallest value
+     * @param maxValue the largest value
+     * @param nbWitnesses the maximum number of stored solutions
+     */
+    public ResidualSupports(int n, int minValue, int maxValue, int nbWitnesses) {
+        this.n = n;
+        this.minValue = minValue;
+        this.nbValues = maxValue - minValue + 1;
+        this.residues = new int[n * nbValues];
+        Arrays.fill(residues, -1);
+        this.witnesses = new int[Math.max(1, nbWitnesses)][n];
+        this.valueStamps = new int[nbValues];
+    }
+
+    /**
+     * Returns true iff the last stored solution assigning val to var still fits the domains of the variables.
+     *
+     * @param var the variable
+     * @param val the value
+     * @param variables the variables
+     * @param intervals true iff the domains are relaxed to their bounds
+     * @return true iff the pair (var, val) has a valid residual support
+     */
+    public boolean hasSupport(int var, int val, IntVar[] variables, boolean intervals) {
+        if(val < minValue || val >= minValue + nbValues) {
+            return false;
+        }
+        int slot = residues[var * nbValues + val - minValue];
+        if(slot < 0) {
+            return false;
+        }
+        int[] witness = witnesses[slot];
+        if(witness[var] != val) { // the slot has been overwritten
+            return false;
+        }
+        for(int i = 0; i < n; i++) {
+            if(intervals ? witness[i] < variables[i].getLB() || witness[i] > variables[i].getUB() : !variables[i].contains(witness[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stores the given solution if its values are pairwise different, in [minValue, maxValue], and respect the precedences,
+     * and makes it the residual support of the pairs it contains.
+     *
+     * @param solution the value of each variable
+     * @param precedenceGraph the precedence graph
+     * @return true iff the solution has been stored
+     */
+    public boolean store(int[] solution, DirectedGraph2 precedenceGraph) {
+        stamp++;
+        for(int i = 0; i < n; i++) {
+            int idx = solution[i] - minValue;
+            if(idx < 0 || idx >= nbValues || valueStamps[idx] == stamp) {
+                return false;
+            }
+            valueStamps[idx] = stamp;
+        }
+        for(int i = 0; i < n; i++) {
+            for(int w = 0; w < precedenceGraph.getNbWords(); w++) {
+                long word = precedenceGraph.getSuccWord(i, w);
+                while(word != 0) {
+                    if(solution[i] >= solution[(w << 6) + Long.numberOfTrailingZeros(word)]) {
+                        return false;
+                    }
+                    word &= word - 1;
+                }
+            }
+        }
+        int slot = nextSlot;
+        nextSlot = (nextSlot + 1) % witnesses.length;
+        System.arraycopy(solution, 0, witnesses[slot], 0, n);
+        for(int i = 0; i < n; i++) {
+            residues[i * nbValues + solution[i] - minValue] = slot;
+        }
+        return true;
+    }
+}
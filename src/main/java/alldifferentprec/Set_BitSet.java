@@ -9,7 +9,7 @@
  */
 package alldifferentprec;
 
-import java.util.BitSet;
+import java.util.Arrays;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 import org.chocosolver.util.objects.setDataStructures.SetType;
@@ -17,6 +17,8 @@ import org.chocosolver.util.objects.setDataStructures.SetType;
 /**
  * BitSet implementation for a set of integers
  * Supports negative numbers when using int... constructor
+ * The bits are stored in an array of long words, which is exposed (getNbWords, getWord) so that callers can
+ * iterate on whole words with Long.numberOfTrailingZeros, and range operations work on 64 elements at once.
  *
  * @author Jean-Guillaume Fages, Xavier Lorca
  */
@@ -28,7 +30,7 @@ public class Set_BitSet implements ISet {
 
     protected int card;
     protected int offset;  // allow using negative numbers
-    protected BitSet values = new BitSet();
+    protected long[] words = new long[1];
     private ISetIterator iter = newIterator();
 
     //***********************************************************************************
@@ -51,11 +53,11 @@ public class Set_BitSet implements ISet {
             }
             @Override
             public boolean hasNext() {
-                return values.nextSetBit(current+1) >= 0;
+                return nextSetBit(current+1) >= 0;
             }
             @Override
             public int nextInt() {
-                current = values.nextSetBit(current + 1);
+                current = nextSetBit(current + 1);
                 return current+offset;
             }
         };
@@ -76,18 +78,77 @@ public class Set_BitSet implements ISet {
         offset = offSet;
     }
 
+    /**
+     * Creates an empty bitset having numbers greater or equal than <code>offSet</code> (possibly < 0),
+     * whose words are allocated for the elements of [offSet, offSet + capacity[
+     *
+     * @param offSet minimum value in the set
+     * @param capacity number of elements the words are allocated for
+     */
+    public Set_BitSet(int offSet, int capacity) {
+        this(offSet);
+        words = new long[Math.max(1, (capacity + 63) >>> 6)];
+    }
+
     //***********************************************************************************
     // METHODS
     //***********************************************************************************
 
+    // index of the first set bit at or after from, or -1 if there is none
+    private int nextSetBit(int from) {
+        int w = from >>> 6;
+        if(w >= words.length) {
+            return -1;
+        }
+        long word = words[w] & -1L << from;
+        while(word == 0) {
+            if(++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    // index of the last set bit at or before from, or -1 if there is none
+    private int previousSetBit(int from) {
+        if(from < 0) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word;
+        if(w >= words.length) {
+            w = words.length - 1;
+            word = words[w];
+        } else {
+            word = words[w] & -1L >>> (63 - (from & 63));
+        }
+        while(word == 0) {
+            if(--w < 0) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+    }
+
+    private void ensureCapacity(int bit) {
+        int nbWords = (bit >>> 6) + 1;
+        if(nbWords > words.length) {
+            words = Arrays.copyOf(words, Math.max(nbWords, 2 * words.length));
+        }
+    }
+
     @Override
     public boolean add(int element) {
         if(element < offset) throw new IllegalStateException("Cannot add "+element+" to set of offset "+offset);
-        if (values.get(element-offset)) {
+        if (contains(element)) {
             return false;
         }else{
+            int bit = element - offset;
+            ensureCapacity(bit);
             card++;
-            values.set(element-offset);
+            words[bit >>> 6] |= 1L << bit;
             return true;
         }
     }
@@ -95,7 +156,8 @@ public class Set_BitSet implements ISet {
     @Override
     public boolean remove(int element) {
         if(contains(element)) {
-            values.clear(element - offset);
+            int bit = element - offset;
+            words[bit >>> 6] &= ~(1L << bit);
             card--;
             return true;
         }else{
@@ -103,18 +165,121 @@ public class Set_BitSet implements ISet {
         }
     }
 
+    /**
+     * Adds the elements of [from, to] to the set.
+     *
+     * @param from the first element (inclusive)
+     * @param to the last element (inclusive)
+     * @return true iff at least one element has been added
+     */
+    public boolean addRange(int from, int to) {
+        if(from < offset) throw new IllegalStateException("Cannot add "+from+" to set of offset "+offset);
+        if(from > to) {
+            return false;
+        }
+        ensureCapacity(to - offset);
+        int size = card;
+        updateRange(from - offset, to - offset, true);
+        return card != size;
+    }
+
+    /**
+     * Removes the elements of [from, to] from the set.
+     *
+     * @param from the first element (inclusive)
+     * @param to the last element (inclusive)
+     * @return true iff at least one element has been removed
+     */
+    public boolean removeRange(int from, int to) {
+        int first = Math.max(from - offset, 0);
+        int last = Math.min(to - offset, (words.length << 6) - 1);
+        if(first > last) {
+            return false;
+        }
+        int size = card;
+        updateRange(first, last, false);
+        return card != size;
+    }
+
+    // sets or clears the bits of [first, last], which must be within the words, and updates the cardinality
+    private void updateRange(int first, int last, boolean set) {
+        int firstWord = first >>> 6;
+        int lastWord = last >>> 6;
+        for(int w = firstWord; w <= lastWord; w++) {
+            long mask = -1L;
+            if(w == firstWord) {
+                mask &= -1L << first;
+            }
+            if(w == lastWord) {
+                mask &= -1L >>> (63 - (last & 63));
+            }
+            long word = words[w];
+            words[w] = set ? word | mask : word & ~mask;
+            card += Long.bitCount(words[w]) - Long.bitCount(word);
+        }
+    }
+
+    /**
+     * Returns the number of elements of the set within [from, to].
+     *
+     * @param from the first element (inclusive)
+     * @param to the last element (inclusive)
+     * @return the number of elements in [from, to]
+     */
+    public int cardinality(int from, int to) {
+        int first = Math.max(from - offset, 0);
+        int last = Math.min(to - offset, (words.length << 6) - 1);
+        if(first > last) {
+            return 0;
+        }
+        int firstWord = first >>> 6;
+        int lastWord = last >>> 6;
+        int count = 0;
+        for(int w = firstWord; w <= lastWord; w++) {
+            long word = words[w];
+            if(w == firstWord) {
+                word &= -1L << first;
+            }
+            if(w == lastWord) {
+                word &= -1L >>> (63 - (last & 63));
+            }
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of long words of the set : the w-th word holds the elements of [offset + 64w, offset + 64w + 63].
+     *
+     * @return the number of words
+     */
+    public int getNbWords() {
+        return words.length;
+    }
+
+    /**
+     * Returns the w-th word of the set, whose bit b stands for the element offset + 64w + b.
+     * Iterating on the words with Long.numberOfTrailingZeros allocates nothing.
+     *
+     * @param w the index of the word
+     * @return the w-th word
+     */
+    public long getWord(int w) {
+        return words[w];
+    }
+
     public int previousValue(int val) {
         if(isEmpty()) {
             return offset - 1;
         }
-        return offset+values.previousSetBit(val);
+        return offset+previousSetBit(val);
     }
 
     public int nextValue(int val) {
         if(isEmpty()) {
             return offset - 1;
         }
-        return offset+values.nextSetBit(val);
+        return offset+nextSetBit(val);
     }
 
     public int getOffset() {
@@ -123,7 +288,8 @@ public class Set_BitSet implements ISet {
 
     @Override
     public boolean contains(int element) {
-        return element >= offset && values.get(element - offset);
+        int bit = element - offset;
+        return element >= offset && (bit >>> 6) < words.length && (words[bit >>> 6] & 1L << bit) != 0;
     }
 
     @Override
@@ -134,19 +300,19 @@ public class Set_BitSet implements ISet {
     @Override
     public void clear() {
         card = 0;
-        values.clear();
+        Arrays.fill(words, 0L);
     }
 
     @Override
     public int min() {
         if(isEmpty()) throw new IllegalStateException("cannot find minimum of an empty set");
-        return offset+values.nextSetBit(0);
+        return offset+nextSetBit(0);
     }
 
     @Override
     public int max() {
         if(isEmpty()) throw new IllegalStateException("cannot find maximum of an empty set");
-        return offset+values.previousSetBit(values.length());
+        return offset+previousSetBit((words.length << 6) - 1);
     }
 
     @Override
@@ -0,0 +1,155 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import java.util.Arrays;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * Bipartite graph between variables and value indexes stored in the trail of the solver : its rows are restored
+ * on backtrack, so that they always contain the current domains of the variables.
+ * Each row is stored with the size of the domain it reflects, and is only synchronised with the domain when this size
+ * differs, so that a synchronisation costs O(1) for an unchanged domain, and O(nbWords + size of the row) otherwise.
+ */
+public class StoredBipartiteGraph {
+    private final int nbVariables;
+    private final int nbValues;
+    private final int nbWords;
+    private final IStateLong[] rows;
+    private final IStateInt[] sizes;
+
+    /**
+     * Creates the bipartite graph of the current domains of the variables, whose values are indexed by val - offset.
+     *
+     * @param environment the environment of the solver
+     * @param variables the variables
+     * @param offset the offset of the values
+     * @param nbValues the number of values
+     */
+    public StoredBipartiteGraph(IEnvironment environment, IntVar[] variables, int offset, int nbValues) {
+        this.nbVariables = variables.length;
+        this.nbValues = nbValues;
+        this.nbWords = (nbValues + 63) >>> 6;
+        this.rows = new IStateLong[nbVariables * nbWords];
+        this.sizes = new IStateInt[nbVariables];
+        long[] words = new long[nbWords];
+        for(int var = 0; var < nbVariables; var++) {
+            Arrays.fill(words, 0L);
+            IntVar variable = variables[var];
+            for(int val = variable.getLB(); val <= variable.getUB(); val = variable.nextValue(val)) {
+                words[(val - offset) >>> 6] |= 1L << (val - offset);
+            }
+            for(int w = 0; w < nbWords; w++) {
+                rows[var * nbWords + w] = environment.makeLong(words[w]);
+            }
+            sizes[var] = environment.makeInt(variable.getDomainSize());
+        }
+    }
+
+    public int getNbVariables() {
+        return nbVariables;
+    }
+
+    public int getNbValues() {
+        return nbValues;
+    }
+
+    public int getNbWords() {
+        return nbWords;
+    }
+
+    public long getWord(int var, int w) {
+        return rows[var * nbWords + w].get();
+    }
+
+    /**
+     * Copies the rows into the given graph, which must have the same dimensions.
+     *
+     * @param graph the graph to fill
+     */
+    public void copyTo(BipartiteGraph graph) {
+        for(int var = 0; var < nbVariables; var++) {
+            for(int w = 0; w < nbWords; w++) {
+                graph.setWord(var, w, rows[var * nbWords + w].get());
+            }
+        }
+    }
+
+    /**
+     * Removes the arc between var and val, which must be consistent with the removal of val from the domain of var.
+     *
+     * @param var the variable
+     * @param val the value index
+     */
+    public void remove(int var, int val) {
+        IStateLong word = rows[var * nbWords + (val >>> 6)];
+        long mask = 1L << val;
+        if((word.get() & mask) != 0) {
+            word.set(word.get() & ~mask);
+            sizes[var].add(-1);
+        }
+    }
+
+    /**
+     * Removes from the row of var the values that are no longer in its domain.
+     * The domain must be included in the row, which holds as the row is restored on backtrack.
+     *
+     * @param var the variable
+     * @param variable the IntVar of var
+     * @param offset the offset of the values
+     * @return true iff the row has been modified
+     */
+    public boolean synchronize(int var, IntVar variable, int offset) {
+        int size = variable.getDomainSize();
+        if(sizes[var].get() == size) {
+            return false;
+        }
+        int lb = variable.getLB() - offset;
+        int ub = variable.getUB() - offset;
+        boolean holes = size != ub - lb + 1;
+        for(int w = 0; w < nbWords; w++) {
+            IStateLong stored = rows[var * nbWords + w];
+            long word = stored.get();
+            long kept = word & rangeMask(w, lb, ub);
+            if(holes) {
+                long bits = kept;
+                while(bits != 0) {
+                    int val = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if(!variable.contains(val + offset)) {
+                        kept &= ~(1L << val);
+                    }
+                }
+            }
+            if(kept != word) {
+                stored.set(kept);
+            }
+        }
+        sizes[var].set(size);
+        return true;
+    }
+
+    /**
+     * Returns the mask of the values of [lb, ub] within the w-th word.
+     */
+    private static long rangeMask(int w, int lb, int ub) {
+        int first = w << 6;
+        int last = first + 63;
+        if(ub < first || lb > last) {
+            return 0L;
+        }
+        long mask = -1L;
+        if(lb > first) {
+            mask &= -1L << lb;
+        }
+        if(ub < last) {
+            mask &= -1L >>> (63 - (ub & 63));
+        }
+        return mask;
+    }
+}
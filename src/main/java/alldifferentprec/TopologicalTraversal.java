@@ -0,0 +1,173 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import data.PrecedenceGraph;
+import java.util.Arrays;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+
+/**
+ * Topological traversal of a precedence graph, layered by depth : the depth of a node is the number of arcs
+ * of the longest path from a source to it, and the nodes are ordered by increasing depth, then by increasing index.
+ * The nodes of a layer are pairwise incomparable, so that they can be processed independently.
+ * The traversal is computed in O(n + E) with Kahn's algorithm, and has the same depths
+ * whether it is computed on the precedence graph or on its transitive closure.
+ */
+public class TopologicalTraversal {
+    private final int[] order;
+    private final int[] layerStarts;
+
+    /**
+     * Creates a topological traversal from its order and the starts of its layers.
+     *
+     * @param order the nodes sorted by increasing depth then index
+     * @param layerStarts the index in order of the first node of each layer, followed by the number of nodes
+     */
+    TopologicalTraversal(int[] order, int[] layerStarts) {
+        this.order = order;
+        this.layerStarts = layerStarts;
+    }
+
+    /**
+     * Computes the topological traversal of the given precedence graph.
+     *
+     * @param graph the precedence graph
+     * @return the topological traversal
+     */
+    public static TopologicalTraversal of(PrecedenceGraph graph) {
+        int n = graph.getNbNodes();
+        int[] inDegree = new int[n];
+        for(int i = 0; i < n; i++) {
+            inDegree[i] = graph.getNbPredecessors(i);
+        }
+        int[] depth = new int[n];
+        int[] queue = new int[n];
+        int last = initQueue(inDegree, queue);
+        for(int first = 0; first < last; first++) {
+            int i = queue[first];
+            for(int k = 0; k < graph.getNbSuccessors(i); k++) {
+                int succ = graph.getSuccessor(i, k);
+                depth[succ] = Math.max(depth[succ], depth[i] + 1);
+                if(--inDegree[succ] == 0) {
+                    queue[last++] = succ;
+                }
+            }
+        }
+        return fromDepths(depth, last);
+    }
+
+    /**
+     * Computes the topological traversal of the given precedence graph.
+     *
+     * @param graph the precedence graph
+     * @return the topological traversal
+     */
+    public static TopologicalTraversal of(DirectedGraph graph) {
+        int n = graph.getNbMaxNodes();
+        int[] inDegree = new int[n];
+        for(int i = 0; i < n; i++) {
+            inDegree[i] = graph.getPredOf(i).size();
+        }
+        int[] depth = new int[n];
+        int[] queue = new int[n];
+        int last = initQueue(inDegree, queue);
+        for(int first = 0; first < last; first++) {
+            int i = queue[first];
+            ISetIterator iterator = graph.getSuccOf(i).iterator();
+            while(iterator.hasNext()) {
+                int succ = iterator.nextInt();
+                depth[succ] = Math.max(depth[succ], depth[i] + 1);
+                if(--inDegree[succ] == 0) {
+                    queue[last++] = succ;
+                }
+            }
+        }
+        return fromDepths(depth, last);
+    }
+
+    private static int initQueue(int[] inDegree, int[] queue) {
+        int last = 0;
+        for(int i = 0; i < inDegree.length; i++) {
+            if(inDegree[i] == 0) {
+                queue[last++] = i;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Sorts the nodes by increasing depth then index, with a counting sort on the depths.
+     */
+    private static TopologicalTraversal fromDepths(int[] depth, int nbVisited) {
+        int n = depth.length;
+        if(nbVisited != n) {
+            throw new IllegalArgumentException("The precedence graph contains a cycle");
+        }
+        int maxDepth = -1;
+        for(int d : depth) {
+            maxDepth = Math.max(maxDepth, d);
+        }
+        int[] layerStarts = new int[maxDepth + 2];
+        for(int d : depth) {
+            layerStarts[d + 1]++;
+        }
+        for(int l = 0; l <= maxDepth; l++) {
+            layerStarts[l + 1] += layerStarts[l];
+        }
+        int[] next = Arrays.copyOf(layerStarts, maxDepth + 1);
+        int[] order = new int[n];
+        for(int i = 0; i < n; i++) {
+            order[next[depth[i]]++] = i;
+        }
+        return new TopologicalTraversal(order, layerStarts);
+    }
+
+    /**
+     * Returns the nodes sorted by increasing depth, then by increasing index. The array should not be modified.
+     *
+     * @return the topological order
+     */
+    public int[] getOrder() {
+        return order;
+    }
+
+    public int getNbNodes() {
+        return order.length;
+    }
+
+    public int getNbLayers() {
+        return layerStarts.length - 1;
+    }
+
+    /**
+     * Returns the index in the order of the first node of the given layer.
+     *
+     * @param layer the layer
+     * @return the start (inclusive) of the layer in the order
+     */
+    public int getLayerStart(int layer) {
+        return layerStarts[layer];
+    }
+
+    /**
+     * Returns the index in the order following the last node of the given layer.
+     *
+     * @param layer the layer
+     * @return the end (exclusive) of the layer in the order
+     */
+    public int getLayerEnd(int layer) {
+        return layerStarts[layer + 1];
+    }
+
+    /**
+     * Returns the starts of the layers in the order, followed by the number of nodes. The array should not be modified.
+     *
+     * @return the starts of the layers
+     */
+    public int[] getLayerStarts() {
+        return layerStarts;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+@since 17/10/2026
+*/
+
+package alldifferentprec;
+
+import data.PrecedenceGraph;
+
+/**
+ * Transitive closure of a precedence graph, stored as one bitset row (an array of long words) per node
+ * for the ancestors and one for the descendants.
+ * The rows are computed by walking the nodes in a topological order and OR-ing the rows of the predecessors
+ * (respectively the successors in the reverse order), which takes O(n + E * n / 64) time and O(n^2 / 32) memory.
+ */
+public class TransitiveClosure {
+    private final int n;
+    private final int nbWords;
+    private final long[] ancestors;
+    private final long[] descendants;
+
+    public TransitiveClosure(PrecedenceGraph graph) {
+        this.n = graph.getNbNodes();
+        this.nbWords = (n + 63) >>> 6;
+        this.ancestors = new long[n * nbWords];
+        this.descendants = new long[n * nbWords];
+
+        int[] order = graph.topologicalOrder();
+        for(int k = 0; k < n; k++) {
+            int i = order[k];
+            int row = i * nbWords;
+            for(int p = 0; p < graph.getNbPredecessors(i); p++) {
+                int pred = graph.getPredecessor(i, p);
+                or(ancestors, row, pred * nbWords);
+                ancestors[row + (pred >>> 6)] |= 1L << pred;
+            }
+        }
+        for(int k = n - 1; k >= 0; k--) {
+            int i = order[k];
+            int row = i * nbWords;
+            for(int s = 0; s < graph.getNbSuccessors(i); s++) {
+                int succ = graph.getSuccessor(i, s);
+                or(descendants, row, succ * nbWords);
+                descendants[row + (succ >>> 6)] |= 1L << succ;
+            }
+        }
+    }
+
+    private void or(long[] rows, int to, int from) {
+        for(int w = 0; w < nbWords; w++) {
+            rows[to + w] |= rows[from + w];
+        }
+    }
+
+    public int getNbNodes() {
+        return n;
+    }
+
+    /**
+     * Returns the number of long words of each row.
+     *
+     * @return the number of words of a row
+     */
+    public int getNbWords() {
+        return nbWords;
+    }
+
+    /**
+     * Returns the w-th word of the ancestors row of node i.
+     *
+     * @param i the node
+     * @param w the index of the word
+     * @return the w-th word of the ancestors of i
+     */
+    public long getAncestorsWord(int i, int w) {
+        return ancestors[i * nbWords + w];
+    }
+
+    /**
+     * Returns the w-th word of the descendants row of node i.
+     *
+     * @param i the node
+     * @param w the index of the word
+     * @return the w-th word of the descendants of i
+     */
+    public long getDescendantsWord(int i, int w) {
+        return descendants[i * nbWords + w];
+    }
+
+    /**
+     * Returns true iff there is a path from node i to node j in the precedence graph.
+     *
+     * @param i the first node
+     * @param j the second node
+     * @return true iff i is an ancestor of j
+     */
+    public boolean precedes(int i, int j) {
+        return (descendants[i * nbWords + (j >>> 6)] & 1L << j) != 0;
+    }
+
+    public int getNbAncestors(int i) {
+        return cardinality(ancestors, i * nbWords);
+    }
+
+    public int getNbDescendants(int i) {
+        return cardinality(descendants, i * nbWords);
+    }
+
+    private int cardinality(long[] rows, int row) {
+        int count = 0;
+        for(int w = 0; w < nbWords; w++) {
+            count += Long.bitCount(rows[row + w]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the ancestors of node i, sorted increasingly.
+     *
+     * @param i the node
+     * @return the ancestors of i
+     */
+    public int[] getAncestors(int i) {
+        return toArray(ancestors, i * nbWords);
+    }
+
+    /**
+     * Returns the descendants of node i, sorted increasingly.
+     *
+     * @param i the node
+     * @return the descendants of i
+     */
+    public int[] getDescendants(int i) {
+        return toArray(descendants, i * nbWords);
+    }
+
+    private int[] toArray(long[] rows, int row) {
+        int[] array = new int[cardinality(rows, row)];
+        int k = 0;
+        for(int w = 0; w < nbWords; w++) {
+            long word = rows[row + w];
+            while(word != 0) {
+                array[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Returns the ancestors matrix, such that ancestors[i] contains the ancestors of node i sorted increasingly.
+     *
+     * @return the ancestors matrix
+     */
+    public int[][] getAncestorsMatrix() {
+        int[][] matrix = new int[n][];
+        for(int i = 0; i < n; i++) {
+            matrix[i] = getAncestors(i);
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the descendants matrix, such that descendants[i] contains the descendants of node i sorted increasingly.
+     *
+     * @return the descendants matrix
+     */
+    public int[][] getDescendantsMatrix() {
+        int[][] matrix = new int[n][];
+        for(int i = 0; i < n; i++) {
+            matrix[i] = getDescendants(i);
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the precedence bit-matrix, whose row of node v contains the descendants of v.
+     * The matrix shares its words with this closure.
+     *
+     * @return the precedence bit-matrix
+     */
+    public PrecedenceMatrix getPrecedenceMatrix() {
+        return new PrecedenceMatrix(n, nbWords, descendants);
+    }
+
+    /**
+     * Returns the precedence matrix, such that precedence[v][w] = true iff v is an ancestor of w.
+     *
+     * @return the precedence matrix
+     */
+    public boolean[][] toPrecedenceMatrix() {
+        return getPrecedenceMatrix().toBooleanMatrix();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+@since 17/10/2026
+*/
+package data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary encoding of an InstanceSP.
+ * All integers are written in big-endian order, with the following layout :
+ * magic, version, name, type, size, nbResources, nbArcs, horizon,
+ * capacities[nbResources], ids[size], durations[size], consumptions[size * nbResources],
+ * successorsStart[size + 1], successors[nbArcs]
+ * where name and type are written as their length followed by their UTF-8 bytes.
+ */
+public class BinaryFormat {
+    public static final String EXTENSION = ".bin";
+    private static final int MAGIC = 0x52435042; // "RCPB"
+    private static final int VERSION = 1;
+
+    private BinaryFormat() {}
+
+    /**
+     * Writes the instance in the binary format.
+     *
+     * @param instance the instance
+     * @param path the path of the binary file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(InstanceSP instance, String path) throws IOException {
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, instance.getName());
+            writeString(out, instance.getType());
+            out.writeInt(instance.getSize());
+            out.writeInt(instance.getNbResources());
+            out.writeInt(instance.getSuccessorsList().length);
+            out.writeInt(instance.getHorizon());
+            writeInts(out, instance.getResourcesAvailabilities());
+            writeInts(out, instance.getIDs());
+            writeInts(out, instance.getDurations());
+            writeInts(out, instance.getConsumptions());
+            writeInts(out, instance.getSuccessorsStart());
+            writeInts(out, instance.getSuccessorsList());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s == null ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] array) throws IOException {
+        for(int a : array) {
+            out.writeInt(a);
+        }
+    }
+
+    /**
+     * Reads an instance from a binary file by memory-mapping it.
+     *
+     * @param path the path of the binary file
+     * @return the instance
+     * @throws IOException if the file cannot be read or is not in the binary format
+     */
+    public static InstanceSP read(String path) throws IOException {
+        MappedByteBuffer buffer;
+        try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if(buffer.getInt() != MAGIC) {
+            throw new IOException(path + " is not a binary instance file");
+        }
+        int version = buffer.getInt();
+        if(version != VERSION) {
+            throw new IOException("Unsupported version " + version + " of binary instance file " + path);
+        }
+        String name = readString(buffer);
+        String type = readString(buffer);
+        int size = buffer.getInt();
+        int nbResources = buffer.getInt();
+        int nbArcs = buffer.getInt();
+        int horizon = buffer.getInt();
+
+        IntBuffer ints = buffer.asIntBuffer();
+        int[] capacities = new int[nbResources];
+        int[] ids = new int[size];
+        int[] durations = new int[size];
+        int[] consumptions = new int[size * nbResources];
+        int[] successorsStart = new int[size + 1];
+        int[] successorsList = new int[nbArcs];
+        ints.get(capacities);
+        ints.get(ids);
+        ints.get(durations);
+        ints.get(consumptions);
+        ints.get(successorsStart);
+        ints.get(successorsList);
+
+        return new InstanceSP(name, type, ids, durations, consumptions, successorsStart, successorsList, capacities, horizon);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Converts a JSON instance file into a binary one.
+     *
+     * @param jsonPath the path of the JSON file
+     * @param binaryPath the path of the binary file
+     * @throws IOException if one of the files cannot be read or written
+     */
+    public static void convert(String jsonPath, String binaryPath) throws IOException {
+        InstanceSP instance = Factory.fromJsonFile(jsonPath);
+        if(instance == null) {
+            throw new IOException("Cannot read instance " + jsonPath);
+        }
+        write(instance, binaryPath);
+    }
+
+    /**
+     * Converts either a single JSON file or all the JSON files of a directory into binary files.
+     * Usage : BinaryFormat input outputDirectory
+     *
+     * @param args the input file or directory, and the output directory
+     * @throws IOException if one of the files cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        File input = new File(args[0]);
+        File outputDir = new File(args[1]);
+        if(!outputDir.exists() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create directory " + outputDir);
+        }
+        File[] files = input.isDirectory() ? input.listFiles((dir, name) -> name.endsWith(".json")) : new File[]{input};
+        if(files == null) {
+            throw new IOException("Cannot list files of " + input);
+        }
+        for(File file : files) {
+            String name = file.getName().replaceAll("\\.json$", "");
+            convert(file.getPath(), new File(outputDir, name + EXTENSION).getPath());
+        }
+    }
+}
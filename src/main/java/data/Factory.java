@@ -5,10 +5,25 @@
 package data;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Factory {
+    // ObjectMapper and ObjectReader are thread-safe once configured, so they are shared by all the calls
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader INSTANCE_READER = MAPPER.readerFor(InstanceSP.class);
+
     /**
      * Reads an Object from a JSON file.
      *
@@ -18,12 +33,222 @@ public class Factory {
      * @return the Object in the JSON file
      */
     public static <T> T fromFile(String path, Class<T> valueType) {
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            return mapper.readValue(new File(path), valueType);
+            if(valueType == InstanceSP.class) {
+                return INSTANCE_READER.readValue(new File(path));
+            }
+            return MAPPER.readValue(new File(path), valueType);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Reads an instance from a JSON file with the streaming JsonInstanceReader,
+     * which fills primitive arrays instead of building one Activity per activity.
+     *
+     * @param path the path of the JSON file
+     * @return the instance in the JSON file
+     */
+    public static InstanceSP fromJsonFile(String path) {
+        try {
+            return JsonInstanceReader.read(INSTANCE_READER.getFactory(), path);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Reads an instance from a binary file (see BinaryFormat).
+     *
+     * @param path the path of the binary file
+     * @return the instance in the binary file
+     */
+    public static InstanceSP fromBinaryFile(String path) {
+        try {
+            return BinaryFormat.read(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Reads an instance from a PSPLIB .sm file or a Patterson .rcp file (see PSPLibReader).
+     *
+     * @param path the path of the PSPLIB or Patterson file
+     * @return the instance in the file
+     */
+    public static InstanceSP fromPSPLibFile(String path) {
+        try {
+            return PSPLibReader.read(path);
         } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
+
+    /**
+     * Reads an instance from a file, whose format is deduced from its extension.
+     *
+     * @param path the path of the file
+     * @return the instance in the file
+     */
+    public static InstanceSP instanceFromFile(String path) {
+        if(path.endsWith(BinaryFormat.EXTENSION)) {
+            return fromBinaryFile(path);
+        }
+        if(path.endsWith(PSPLibReader.SM_EXTENSION) || path.endsWith(PSPLibReader.PATTERSON_EXTENSION)) {
+            return fromPSPLibFile(path);
+        }
+        return fromJsonFile(path);
+    }
+
+    /**
+     * Returns true iff the file name has the extension of an instance format that can be read by instanceFromFile.
+     *
+     * @param fileName the file name
+     * @return true iff the file is an instance file
+     */
+    public static boolean isInstanceFile(String fileName) {
+        return fileName.endsWith(".json")
+            || fileName.endsWith(BinaryFormat.EXTENSION)
+            || fileName.endsWith(PSPLibReader.SM_EXTENSION)
+            || fileName.endsWith(PSPLibReader.PATTERSON_EXTENSION);
+    }
+
+    /**
+     * Lists the instance files designated by the given path, sorted by path.
+     * The path is either a directory (all the instance files it contains are returned), a single file,
+     * or a glob pattern such as "data/j60/j601_*.json".
+     *
+     * @param dirOrGlob the directory, file or glob pattern
+     * @return the sorted list of instance files
+     * @throws IOException if the directory cannot be listed, or if the directory or the glob pattern designates no instance file
+     */
+    public static List<Path> listInstanceFiles(String dirOrGlob) throws IOException {
+        int idxWildcard = indexOfWildcard(dirOrGlob);
+        if(idxWildcard < 0) {
+            Path path = Paths.get(dirOrGlob);
+            if(!Files.isDirectory(path)) {
+                return Stream.of(path).collect(Collectors.toList());
+            }
+            List<Path> paths;
+            try(Stream<Path> files = Files.list(path)) {
+                paths = files.filter(p -> Files.isRegularFile(p) && isInstanceFile(p.getFileName().toString()))
+                             .sorted()
+                             .collect(Collectors.toList());
+            }
+            if(paths.isEmpty()) {
+                throw new IOException("No instance file in the directory " + dirOrGlob);
+            }
+            return paths;
+        }
+        // the walked paths are normalized, so the pattern must be too for "./data/*.json" or "../data/*.json" to match
+        String glob = Paths.get(dirOrGlob).normalize().toString();
+        idxWildcard = indexOfWildcard(glob);
+        int idxSeparator = glob.lastIndexOf('/', idxWildcard);
+        Path root = Paths.get(idxSeparator < 0 ? "." : idxSeparator == 0 ? "/" : glob.substring(0, idxSeparator));
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        List<Path> paths;
+        try(Stream<Path> files = Files.walk(root)) {
+            paths = files.map(Path::normalize)
+                         .filter(p -> Files.isRegularFile(p) && matcher.matches(p))
+                         .sorted()
+                         .collect(Collectors.toList());
+        }
+        if(paths.isEmpty()) {
+            throw new IOException("No file matches the pattern " + dirOrGlob);
+        }
+        return paths;
+    }
+
+    private static int indexOfWildcard(String s) {
+        for(int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if(c == '*' || c == '?' || c == '[' || c == '{') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Loads in parallel all the instances designated by the given directory or glob pattern,
+     * using all the available processors.
+     *
+     * @param dirOrGlob the directory, file or glob pattern
+     * @return the loaded instances, in the order of listInstanceFiles
+     * @throws IOException if the directory cannot be listed, or if the directory or the glob pattern designates no instance file
+     */
+    public static List<LoadedInstance> loadAll(String dirOrGlob) throws IOException {
+        return loadAll(dirOrGlob, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Loads in parallel all the instances designated by the given directory or glob pattern,
+     * on a fork-join pool of the given parallelism.
+     *
+     * @param dirOrGlob the directory, file or glob pattern
+     * @param parallelism the number of threads loading the instances
+     * @return the loaded instances, in the order of listInstanceFiles
+     * @throws IOException if the directory cannot be listed, or if the directory or the glob pattern designates no instance file
+     */
+    public static List<LoadedInstance> loadAll(String dirOrGlob, int parallelism) throws IOException {
+        List<Path> paths = listInstanceFiles(dirOrGlob);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(
+                () -> paths.parallelStream().map(LoadedInstance::load).collect(Collectors.toList())
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * An instance loaded by loadAll, together with its path and the time spent to load it.
+     * The instance is null if the file could not be read.
+     */
+    public static class LoadedInstance {
+        private final Path path;
+        private final InstanceSP instance;
+        private final long loadTimeInNanoSeconds;
+
+        private LoadedInstance(Path path, InstanceSP instance, long loadTimeInNanoSeconds) {
+            this.path = path;
+            this.instance = instance;
+            this.loadTimeInNanoSeconds = loadTimeInNanoSeconds;
+        }
+
+        private static LoadedInstance load(Path path) {
+            long start = System.nanoTime();
+            InstanceSP instance = instanceFromFile(path.toString());
+            return new LoadedInstance(path, instance, System.nanoTime() - start);
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public InstanceSP getInstance() {
+            return instance;
+        }
+
+        public long getLoadTimeInNanoSeconds() {
+            return loadTimeInNanoSeconds;
+        }
+
+        @Override
+        public String toString() {
+            return path + ";" + loadTimeInNanoSeconds / 1000 + ";";
+        }
+    }
 }
@@ -0,0 +1,228 @@
+/*
+@since 17/10/2026
+*/
+package data;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seeded generator of RCPSP instances in the spirit of RanGen, used to build scaling benchmarks far larger than PSPLIB.
+ * The generated instances follow the PSPLIB conventions : activity 0 is a dummy source, activity n+1 is a dummy sink,
+ * the activities are numbered in a topological order and the horizon is the sum of the durations.
+ * The instances are controlled by the three classical parameters :
+ * <ul>
+ *     <li>the network complexity, which is the average number of arcs per non-dummy activity ;</li>
+ *     <li>the resource factor, which is the average proportion of resources used by an activity ;</li>
+ *     <li>the resource strength, which places each capacity between the largest consumption (0)
+ *     and the peak consumption of the earliest start schedule (1).</li>
+ * </ul>
+ * Two generators with the same parameters and the same seed generate the same instances.
+ */
+public class InstanceGenerator {
+    public static final int MAX_DURATION = 10;
+    public static final int MAX_CONSUMPTION = 10;
+
+    private final int nbActivities;
+    private final int nbResources;
+    private final double networkComplexity;
+    private final double resourceFactor;
+    private final double resourceStrength;
+    private final Random random;
+
+    /**
+     * Creates a generator of instances with nbActivities non-dummy activities.
+     *
+     * @param nbActivities the number of non-dummy activities
+     * @param nbResources the number of resources
+     * @param networkComplexity the average number of arcs per non-dummy activity (PSPLIB uses 1.5, 1.8 and 2.1)
+     * @param resourceFactor the average proportion of resources used by an activity, in [0,1]
+     * @param resourceStrength the resource strength, in [0,1]
+     * @param seed the seed of the generator
+     */
+    public InstanceGenerator(int nbActivities, int nbResources, double networkComplexity, double resourceFactor, double resourceStrength, long seed) {
+        if(nbActivities < 1 || nbResources < 1) {
+            throw new IllegalArgumentException("There must be at least one activity and one resource");
+        }
+        if(resourceFactor < 0 || resourceFactor > 1 || resourceStrength < 0 || resourceStrength > 1) {
+            throw new IllegalArgumentException("The resource factor and the resource strength must be in [0,1]");
+        }
+        this.nbActivities = nbActivities;
+        this.nbResources = nbResources;
+        this.networkComplexity = networkComplexity;
+        this.resourceFactor = resourceFactor;
+        this.resourceStrength = resourceStrength;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates the next instance of the generator.
+     *
+     * @param name the name of the instance
+     * @return the generated instance
+     */
+    public InstanceSP generate(String name) {
+        int n = nbActivities + 2;
+        int sink = n - 1;
+        int[] ids = new int[n];
+        int[] durations = new int[n];
+        for(int i = 0; i < n; i++) {
+            ids[i] = i;
+            if(i > 0 && i < sink) {
+                durations[i] = 1 + random.nextInt(MAX_DURATION);
+            }
+        }
+
+        TIntArrayList[] successors = generateNetwork();
+        int[] successorsStart = new int[n + 1];
+        for(int i = 0; i < n; i++) {
+            successors[i].sort();
+            successorsStart[i + 1] = successorsStart[i] + successors[i].size();
+        }
+        int[] successorsList = new int[successorsStart[n]];
+        for(int i = 0; i < n; i++) {
+            successors[i].toArray(successorsList, 0, successorsStart[i], successors[i].size());
+        }
+
+        int[] consumptions = new int[n * nbResources];
+        for(int i = 1; i < sink; i++) {
+            boolean usesResource = false;
+            for(int r = 0; r < nbResources; r++) {
+                if(random.nextDouble() < resourceFactor) {
+                    consumptions[i * nbResources + r] = 1 + random.nextInt(MAX_CONSUMPTION);
+                    usesResource = true;
+                }
+            }
+            if(!usesResource && resourceFactor > 0) {
+                consumptions[i * nbResources + random.nextInt(nbResources)] = 1 + random.nextInt(MAX_CONSUMPTION);
+            }
+        }
+
+        int[] capacities = computeCapacities(durations, consumptions, successorsStart, successorsList);
+        int horizon = 0;
+        for(int d : durations) {
+            horizon += d;
+        }
+        return new InstanceSP(name, "RCPSP", ids, durations, consumptions, successorsStart, successorsList, capacities, horizon);
+    }
+
+    /**
+     * Generates the precedence network between the non-dummy activities, and connects it to the source and the sink.
+     * Arcs always go from a smaller index to a larger one, and the predecessors of an activity are drawn
+     * among the activities close to it, so that the network has a depth proportional to the number of activities.
+     *
+     * @return the successors of each activity
+     */
+    private TIntArrayList[] generateNetwork() {
+        int n = nbActivities + 2;
+        int sink = n - 1;
+        TIntArrayList[] successors = new TIntArrayList[n];
+        for(int i = 0; i < n; i++) {
+            successors[i] = new TIntArrayList();
+        }
+        boolean[] hasPredecessor = new boolean[n];
+        int window = Math.max(2, (int) Math.round(Math.sqrt(nbActivities)));
+        int nbStart = Math.max(1, Math.min(nbActivities, window / 2));
+        int nbArcs = 0;
+        // each non-starting activity gets one predecessor
+        for(int j = nbStart + 1; j <= nbActivities; j++) {
+            int i = j - 1 - random.nextInt(Math.min(window, j - 1));
+            successors[i].add(j);
+            hasPredecessor[j] = true;
+            nbArcs++;
+        }
+        // additional arcs until the network complexity is reached
+        int targetNbArcs = (int) Math.round(networkComplexity * nbActivities);
+        int nbTries = 0;
+        while(nbArcs < targetNbArcs && nbTries < 10 * targetNbArcs && nbActivities > nbStart) {
+            nbTries++;
+            int j = nbStart + 1 + random.nextInt(nbActivities - nbStart);
+            int i = j - 1 - random.nextInt(Math.min(window, j - 1));
+            if(!successors[i].contains(j)) {
+                successors[i].add(j);
+                nbArcs++;
+            }
+        }
+        // connection to the dummy source and sink
+        for(int j = 1; j <= nbActivities; j++) {
+            if(!hasPredecessor[j]) {
+                successors[0].add(j);
+            }
+            if(successors[j].isEmpty()) {
+                successors[j].add(sink);
+            }
+        }
+        return successors;
+    }
+
+    /**
+     * Computes the capacities with the resource strength, as in Kolisch et al. (1995) :
+     * capacity = rmin + round(RS * (rmax - rmin)) where rmin is the largest consumption of the resource
+     * and rmax is its peak consumption in the earliest start schedule.
+     */
+    private int[] computeCapacities(int[] durations, int[] consumptions, int[] successorsStart, int[] successorsList) {
+        int n = durations.length;
+        int[] starts = new int[n];
+        int makespan = 0;
+        // activities are numbered in a topological order
+        for(int i = 0; i < n; i++) {
+            int end = starts[i] + durations[i];
+            makespan = Math.max(makespan, end);
+            for(int k = successorsStart[i]; k < successorsStart[i + 1]; k++) {
+                starts[successorsList[k]] = Math.max(starts[successorsList[k]], end);
+            }
+        }
+        int[] capacities = new int[nbResources];
+        int[] profile = new int[makespan + 1];
+        for(int r = 0; r < nbResources; r++) {
+            int rmin = 0;
+            Arrays.fill(profile, 0);
+            for(int i = 0; i < n; i++) {
+                int c = consumptions[i * nbResources + r];
+                if(c > 0 && durations[i] > 0) {
+                    rmin = Math.max(rmin, c);
+                    profile[starts[i]] += c;
+                    profile[starts[i] + durations[i]] -= c;
+                }
+            }
+            int rmax = 0;
+            int height = 0;
+            for(int t = 0; t <= makespan; t++) {
+                height += profile[t];
+                rmax = Math.max(rmax, height);
+            }
+            capacities[r] = rmin + (int) Math.round(resourceStrength * (rmax - rmin));
+        }
+        return capacities;
+    }
+
+    /**
+     * Generates instances in JSON files.
+     * Usage : InstanceGenerator nbActivities nbInstances outputDirectory [seed networkComplexity resourceFactor resourceStrength nbResources]
+     * with default values 0, 1.8, 0.5, 0.3 and 4.
+     *
+     * @param args the arguments
+     * @throws IOException if a file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int nbActivities = Integer.parseInt(args[0]);
+        int nbInstances = Integer.parseInt(args[1]);
+        File outputDir = new File(args[2]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        double networkComplexity = args.length > 4 ? Double.parseDouble(args[4]) : 1.8;
+        double resourceFactor = args.length > 5 ? Double.parseDouble(args[5]) : 0.5;
+        double resourceStrength = args.length > 6 ? Double.parseDouble(args[6]) : 0.3;
+        int nbResources = args.length > 7 ? Integer.parseInt(args[7]) : 4;
+        if(!outputDir.exists() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create directory " + outputDir);
+        }
+        InstanceGenerator generator = new InstanceGenerator(nbActivities, nbResources, networkComplexity, resourceFactor, resourceStrength, seed);
+        for(int k = 1; k <= nbInstances; k++) {
+            String name = "gen" + nbActivities + "_" + k;
+            JsonInstanceWriter.write(generator.generate(name), new File(outputDir, name + ".json").getPath());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+@since 17/10/2026
+*/
+package data;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy iterator over instance files, which reads each instance only when it is needed and keeps no reference to it
+ * afterwards, so that the memory stays bounded whatever the number of instances.
+ * With a positive prefetch depth, the next instances are read ahead on a background thread,
+ * so that reading the instance k+1 overlaps with the solving of the instance k.
+ * An instance is null if its file could not be read (see Factory.instanceFromFile).
+ */
+public class InstanceIterator implements Iterator<InstanceSP>, AutoCloseable {
+    private final List<Path> paths;
+    private final int prefetch;
+    private final ExecutorService executor;
+    private final ArrayDeque<Future<InstanceSP>> pending;
+    private int nextToSubmit;
+    private int nextToReturn;
+
+    /**
+     * Creates a lazy iterator over the given instance files.
+     *
+     * @param paths the paths of the instance files
+     * @param prefetch the number of instances read ahead on a background thread (0 to read them on the calling thread)
+     */
+    public InstanceIterator(List<Path> paths, int prefetch) {
+        if(prefetch < 0) {
+            throw new IllegalArgumentException("The prefetch depth must be non-negative");
+        }
+        this.paths = paths;
+        this.prefetch = prefetch;
+        this.pending = new ArrayDeque<>(Math.max(1, prefetch));
+        if(prefetch > 0) {
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "instance-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Creates a lazy iterator over the instance files designated by the given directory or glob pattern
+     * (see Factory.listInstanceFiles).
+     *
+     * @param dirOrGlob the directory, file or glob pattern
+     * @param prefetch the number of instances read ahead on a background thread (0 to read them on the calling thread)
+     * @return the lazy iterator
+     * @throws IOException if the directory cannot be listed, or if the directory or the glob pattern designates no instance file
+     */
+    public static InstanceIterator of(String dirOrGlob, int prefetch) throws IOException {
+        return new InstanceIterator(Factory.listInstanceFiles(dirOrGlob), prefetch);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextToReturn < paths.size();
+    }
+
+    @Override
+    public InstanceSP next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if(executor == null) {
+            return Factory.instanceFromFile(paths.get(nextToReturn++).toString());
+        }
+        fillPending();
+        Future<InstanceSP> future = pending.removeFirst();
+        nextToReturn++;
+        fillPending(); // starts reading the next instance before giving this one to the caller
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void fillPending() {
+        while(pending.size() < prefetch && nextToSubmit < paths.size()) {
+            String path = paths.get(nextToSubmit++).toString();
+            pending.addLast(executor.submit(() -> Factory.instanceFromFile(path)));
+        }
+    }
+
+    /**
+     * Returns the path of the instance that has been returned by the last call to next().
+     *
+     * @return the path of the last returned instance
+     */
+    public Path getLastPath() {
+        if(nextToReturn == 0) {
+            throw new IllegalStateException("next() has not been called yet");
+        }
+        return paths.get(nextToReturn - 1);
+    }
+
+    public Spliterator<InstanceSP> spliterator() {
+        return Spliterators.spliterator(this, paths.size() - nextToReturn, Spliterator.ORDERED | Spliterator.SIZED);
+    }
+
+    /**
+     * Returns a sequential stream over the remaining instances, which closes this iterator when it is closed.
+     *
+     * @return a stream of the remaining instances
+     */
+    public Stream<InstanceSP> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if(executor != null) {
+            executor.shutdownNow();
+        }
+        pending.clear();
+    }
+}
@@ -3,16 +3,34 @@ package data;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import gnu.trove.list.array.TIntArrayList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class InstanceSP {
     private final String name;
     private final int size;
     private final String type; // is either RCPSP, JSSP, MCJSSP
-    private final List<Activity> activities;
+    private List<Activity> activities;
     private final int[] resourcesAvailabilities;
     private final int horizon;
+    // flat representation of the activities
+    @JsonIgnore
+    private final int[] ids;
+    @JsonIgnore
+    private final int[] durations;
+    @JsonIgnore
+    private final int[] consumptions; // row-major : consumptions[i * nbResources + r]
+    @JsonIgnore
+    private final int[] successorsStart; // successors of i are in successorsList[successorsStart[i] .. successorsStart[i+1]-1]
+    @JsonIgnore
+    private final int[] successorsList;
+    @JsonIgnore
+    private final int minID;
+    @JsonIgnore
+    private final int[] indexOfID;
+    @JsonIgnore
+    private final PrecedenceGraph precedenceGraph;
     @JsonIgnore
     private int[][] predecessors = null;
     @JsonIgnore
@@ -32,8 +50,67 @@ public class InstanceSP {
         this.resourcesAvailabilities = resourcesAvailabilities;
         this.horizon = horizon;
 
-        buildPredecessors();
-        buildSuccessors();
+        int nbResources = resourcesAvailabilities.length;
+        ids = new int[size];
+        durations = new int[size];
+        consumptions = new int[size * nbResources];
+        successorsStart = new int[size + 1];
+        for(int i = 0; i < size; i++) {
+            Activity activity = activities.get(i);
+            ids[i] = activity.getID();
+            durations[i] = activity.getDuration();
+            System.arraycopy(activity.getResourceConsumption(), 0, consumptions, i * nbResources, nbResources);
+            successorsStart[i + 1] = successorsStart[i] + activity.getSuccessors().length;
+        }
+        successorsList = new int[successorsStart[size]];
+        for(int i = 0; i < size; i++) {
+            int[] succ = activities.get(i).getSuccessors();
+            System.arraycopy(succ, 0, successorsList, successorsStart[i], succ.length);
+        }
+
+        minID = Arrays.stream(ids).min().orElse(0);
+        indexOfID = buildIndexOfID();
+        precedenceGraph = buildPrecedenceGraph();
+    }
+
+    /**
+     * Creates an instance directly from flat arrays, without allocating one Activity per activity.
+     * The list of activities is only materialised if getActivities() is called.
+     *
+     * @param name the name of the instance
+     * @param type the type of the instance
+     * @param ids the ids of the activities
+     * @param durations the durations of the activities
+     * @param consumptions the row-major consumption matrix (activity i consumes consumptions[i * nbResources + r] of resource r)
+     * @param successorsStart the CSR offsets of the successors lists (of length size + 1)
+     * @param successorsList the concatenated successors lists
+     * @param resourcesAvailabilities the capacities of the resources
+     * @param horizon the horizon
+     */
+    public InstanceSP(
+            String name,
+            String type,
+            int[] ids,
+            int[] durations,
+            int[] consumptions,
+            int[] successorsStart,
+            int[] successorsList,
+            int[] resourcesAvailabilities,
+            int horizon) {
+        this.name = name;
+        this.size = ids.length;
+        this.type = type;
+        this.ids = ids;
+        this.durations = durations;
+        this.consumptions = consumptions;
+        this.successorsStart = successorsStart;
+        this.successorsList = successorsList;
+        this.resourcesAvailabilities = resourcesAvailabilities;
+        this.horizon = horizon;
+
+        minID = Arrays.stream(ids).min().orElse(0);
+        indexOfID = buildIndexOfID();
+        precedenceGraph = buildPrecedenceGraph();
     }
 
     public String getName() {
@@ -48,17 +125,72 @@ public class InstanceSP {
         return resourcesAvailabilities;
     }
 
+    public int getNbResources() {
+        return resourcesAvailabilities.length;
+    }
+
     public List<Activity> getActivities() {
+        if(activities == null) {
+            int nbResources = getNbResources();
+            List<Activity> list = new ArrayList<>(size);
+            for(int i = 0; i < size; i++) {
+                list.add(new Activity(
+                    ids[i],
+                    durations[i],
+                    Arrays.copyOfRange(consumptions, i * nbResources, (i + 1) * nbResources),
+                    Arrays.copyOfRange(successorsList, successorsStart[i], successorsStart[i + 1])
+                ));
+            }
+            activities = list;
+        }
         return activities;
     }
 
     public Activity getActivity(int id) {
-        for(Activity j : activities){
-            if(j.getID() == id){
-                return j;
-            }
-        }
-        return null;
+        int idx = getIndex(id);
+        return idx < 0 ? null : getActivities().get(idx);
+    }
+
+    /**
+     * Returns the index of the activity of the given id.
+     *
+     * @param id the id of the activity
+     * @return the index of the activity, or -1 if there is no activity with this id
+     */
+    public int getIndex(int id) {
+        int k = id - minID;
+        return k < 0 || k >= indexOfID.length ? -1 : indexOfID[k];
+    }
+
+    /**
+     * Returns the id of the activity at the given index.
+     *
+     * @param idx the index of the activity
+     * @return the id of the activity
+     */
+    public int getID(int idx) {
+        return ids[idx];
+    }
+
+    /**
+     * Returns the duration of the activity at the given index.
+     *
+     * @param idx the index of the activity
+     * @return the duration of the activity
+     */
+    public int getDuration(int idx) {
+        return durations[idx];
+    }
+
+    /**
+     * Returns the consumption of the given resource by the activity at the given index.
+     *
+     * @param idx the index of the activity
+     * @param resourceIdx the index of the resource
+     * @return the consumption of the resource by the activity
+     */
+    public int getResourceConsumption(int idx, int resourceIdx) {
+        return consumptions[idx * resourcesAvailabilities.length + resourceIdx];
     }
 
     public int getHorizon() {
@@ -69,44 +201,77 @@ public class InstanceSP {
         return type;
     }
 
-    private static boolean contains(int[] array, int value) {
-        for(int a : array) {
-            if(a == value) {
-                return true;
-            }
-        }
-        return false;
+    int[] getIDs() {
+        return ids;
     }
 
-    private void buildSuccessors() {
-        this.successors = new int[activities.size()][];
-        for(int i = 0; i < successors.length; i++) {
-            successors[i] = activities.get(i).getSuccessors();
+    int[] getDurations() {
+        return durations;
+    }
+
+    int[] getConsumptions() {
+        return consumptions;
+    }
+
+    int[] getSuccessorsStart() {
+        return successorsStart;
+    }
+
+    int[] getSuccessorsList() {
+        return successorsList;
+    }
+
+    private int[] buildIndexOfID() {
+        int maxID = Arrays.stream(ids).max().orElse(-1);
+        int[] index = new int[Math.max(0, maxID - minID + 1)];
+        Arrays.fill(index, -1);
+        for(int i = 0; i < size; i++) {
+            index[ids[i] - minID] = i;
         }
+        return index;
     }
 
-    private void buildPredecessors() {
-        predecessors = new int[activities.size()][];
-        TIntArrayList list = new TIntArrayList(activities.size());
-        for(int i = 0; i<predecessors.length; i++) {
-            list.clear();
-            for(int j = 0; j< activities.size(); j++) {
-                if(contains(activities.get(j).getSuccessors(), activities.get(i).getID())) {
-                    list.add(j);
-                }
+    private PrecedenceGraph buildPrecedenceGraph() {
+        int[] successorsIdx = new int[successorsList.length];
+        for(int k = 0; k < successorsList.length; k++) {
+            successorsIdx[k] = getIndex(successorsList[k]);
+            if(successorsIdx[k] < 0) {
+                throw new IllegalArgumentException("Unknown successor " + successorsList[k] + " in instance " + name);
             }
-            predecessors[i] = list.toArray();
         }
+        return new PrecedenceGraph(size, successorsStart, successorsIdx);
     }
 
+    /**
+     * Returns the precedence graph between the activities, whose nodes are the indices of the activities.
+     *
+     * @return the precedence graph
+     */
+    public PrecedenceGraph getPrecedenceGraph() {
+        return precedenceGraph;
+    }
+
+    /**
+     * Returns the predecessors matrix, such that predecessors[i] contains the indices of the predecessors of the activity at index i.
+     *
+     * @return the predecessors matrix
+     */
     public int[][] getPredecessors() {
         if(this.predecessors == null) {
-            buildPredecessors();
+            this.predecessors = precedenceGraph.toPredecessorsMatrix();
         }
         return this.predecessors;
     }
 
+    /**
+     * Returns the successors matrix, such that successors[i] contains the indices of the successors of the activity at index i.
+     *
+     * @return the successors matrix
+     */
     public int[][] getSuccessors() {
+        if(this.successors == null) {
+            this.successors = precedenceGraph.toSuccessorsMatrix();
+        }
         return this.successors;
     }
 
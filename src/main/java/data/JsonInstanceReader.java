@@ -0,0 +1,138 @@
+/*
+@since 17/10/2026
+*/
+package data;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import gnu.trove.list.array.TIntArrayList;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Streaming reader of JSON instance files, which writes the activities directly into flat primitive arrays
+ * instead of deserializing one Activity object per activity.
+ */
+public class JsonInstanceReader {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private String name;
+    private String type;
+    private int horizon;
+    private int[] resourcesAvailabilities;
+    private final TIntArrayList ids = new TIntArrayList();
+    private final TIntArrayList durations = new TIntArrayList();
+    private final TIntArrayList consumptions = new TIntArrayList();
+    private final TIntArrayList successorsStart = new TIntArrayList();
+    private final TIntArrayList successorsList = new TIntArrayList();
+    private final TIntArrayList tmp = new TIntArrayList();
+
+    private JsonInstanceReader() {
+        successorsStart.add(0);
+    }
+
+    /**
+     * Reads an instance from a JSON file.
+     *
+     * @param path the path of the JSON file
+     * @return the instance
+     * @throws IOException if the file cannot be read or is not a valid instance file
+     */
+    public static InstanceSP read(String path) throws IOException {
+        return read(FACTORY, path);
+    }
+
+    /**
+     * Reads an instance from a JSON file, with a parser created by the given factory.
+     *
+     * @param factory the factory of JSON parsers
+     * @param path the path of the JSON file
+     * @return the instance
+     * @throws IOException if the file cannot be read or is not a valid instance file
+     */
+    public static InstanceSP read(JsonFactory factory, String path) throws IOException {
+        try(JsonParser parser = factory.createParser(new File(path))) {
+            return new JsonInstanceReader().readInstance(parser);
+        }
+    }
+
+    private InstanceSP readInstance(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch(field) {
+                case "name": name = parser.getValueAsString(); break;
+                case "type": type = parser.getValueAsString(); break;
+                case "horizon": horizon = parser.getIntValue(); break;
+                case "resourcesAvailabilities":
+                    tmp.clear();
+                    readIntArray(parser, token, tmp);
+                    resourcesAvailabilities = tmp.toArray();
+                    break;
+                case "activities":
+                    expect(parser, token, JsonToken.START_ARRAY);
+                    while(parser.nextToken() != JsonToken.END_ARRAY) {
+                        readActivity(parser);
+                    }
+                    break;
+                default: parser.skipChildren();
+            }
+        }
+        if(resourcesAvailabilities == null) {
+            throw new JsonParseException(parser, "Missing field resourcesAvailabilities");
+        }
+        int size = ids.size();
+        if(consumptions.size() != size * resourcesAvailabilities.length) {
+            throw new JsonParseException(parser, "Resource consumptions do not match the number of resources");
+        }
+        return new InstanceSP(
+            name,
+            type,
+            ids.toArray(),
+            durations.toArray(),
+            consumptions.toArray(),
+            successorsStart.toArray(),
+            successorsList.toArray(),
+            resourcesAvailabilities,
+            horizon
+        );
+    }
+
+    private void readActivity(JsonParser parser) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+        int id = -1;
+        int duration = 0;
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch(field) {
+                case "id": id = parser.getIntValue(); break;
+                case "duration": duration = parser.getIntValue(); break;
+                case "resourceConsumption": readIntArray(parser, token, consumptions); break;
+                case "successors": readIntArray(parser, token, successorsList); break;
+                default: parser.skipChildren();
+            }
+        }
+        ids.add(id);
+        durations.add(duration);
+        successorsStart.add(successorsList.size());
+    }
+
+    private static void readIntArray(JsonParser parser, JsonToken token, TIntArrayList list) throws IOException {
+        expect(parser, token, JsonToken.START_ARRAY);
+        JsonToken t;
+        while((t = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(parser, t, JsonToken.VALUE_NUMBER_INT);
+            list.add(parser.getIntValue());
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if(actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
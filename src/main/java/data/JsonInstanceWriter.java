@@ -0,0 +1,54 @@
+/*
+@since 17/10/2026
+*/
+package data;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Streaming writer of JSON instance files, producing the same schema as the one read by JsonInstanceReader
+ * and by the Jackson deserialization of InstanceSP.
+ */
+public class JsonInstanceWriter {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private JsonInstanceWriter() {}
+
+    /**
+     * Writes the instance in a JSON file.
+     *
+     * @param instance the instance
+     * @param path the path of the JSON file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(InstanceSP instance, String path) throws IOException {
+        try(JsonGenerator generator = FACTORY.createGenerator(new File(path), JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeStringField("name", instance.getName());
+            generator.writeStringField("type", instance.getType());
+            generator.writeArrayFieldStart("activities");
+            int[] successorsStart = instance.getSuccessorsStart();
+            int[] successorsList = instance.getSuccessorsList();
+            for(int i = 0; i < instance.getSize(); i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", instance.getID(i));
+                generator.writeNumberField("duration", instance.getDuration(i));
+                generator.writeFieldName("resourceConsumption");
+                generator.writeArray(instance.getConsumptions(), i * instance.getNbResources(), instance.getNbResources());
+                generator.writeFieldName("successors");
+                generator.writeArray(successorsList, successorsStart[i], successorsStart[i + 1] - successorsStart[i]);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeFieldName("resourcesAvailabilities");
+            generator.writeArray(instance.getResourcesAvailabilities(), 0, instance.getNbResources());
+            generator.writeNumberField("horizon", instance.getHorizon());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+@since 17/10/2026
+*/
+package data;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Single-pass reader of the PSPLIB (.sm) and Patterson (.rcp) formats, which builds an InstanceSP
+ * without any intermediate JSON file. Jobs are numbered from 1 in both formats and are given the ids 0 to n-1.
+ */
+public class PSPLibReader {
+    public static final String SM_EXTENSION = ".sm";
+    public static final String PATTERSON_EXTENSION = ".rcp";
+
+    private PSPLibReader() {}
+
+    /**
+     * Reads an instance from a PSPLIB or Patterson file, whose format is deduced from its extension.
+     *
+     * @param path the path of the file
+     * @return the instance
+     * @throws IOException if the file cannot be read or is not a valid instance file
+     */
+    public static InstanceSP read(String path) throws IOException {
+        if(path.endsWith(PATTERSON_EXTENSION)) {
+            return readPatterson(path);
+        }
+        return readSM(path);
+    }
+
+    private static String instanceName(String path) {
+        String name = new File(path).getName();
+        int idx = name.lastIndexOf('.');
+        return idx < 0 ? name : name.substring(0, idx);
+    }
+
+    private static int valueAfterColon(String line) {
+        String[] tokens = line.substring(line.indexOf(':') + 1).trim().split("\\s+");
+        return Integer.parseInt(tokens[0]);
+    }
+
+    private static String nextDataLine(BufferedReader reader) throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if(line == null) {
+                throw new IOException("Unexpected end of file");
+            }
+            line = line.trim();
+        } while(line.isEmpty() || line.startsWith("---") || line.startsWith("***"));
+        return line;
+    }
+
+    /**
+     * Reads an instance from a PSPLIB .sm file (single-mode RCPSP, only renewable resources are considered).
+     *
+     * @param path the path of the .sm file
+     * @return the instance
+     * @throws IOException if the file cannot be read or is not a valid .sm file
+     */
+    public static InstanceSP readSM(String path) throws IOException {
+        int n = -1;
+        int nbResources = -1;
+        int horizon = -1;
+        int[] ids = null;
+        int[] durations = null;
+        int[] consumptions = null;
+        int[] successorsStart = null;
+        TIntArrayList successorsList = new TIntArrayList();
+        int[] capacities = null;
+        try(BufferedReader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.ISO_8859_1)) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                line = line.trim();
+                if(line.startsWith("jobs")) {
+                    n = valueAfterColon(line);
+                } else if(line.startsWith("horizon")) {
+                    horizon = valueAfterColon(line);
+                } else if(line.startsWith("- renewable")) {
+                    nbResources = valueAfterColon(line);
+                } else if(line.startsWith("PRECEDENCE RELATIONS")) {
+                    if(n < 0) {
+                        throw new IOException("Number of jobs not found before the precedence relations in " + path);
+                    }
+                    nextDataLine(reader); // header
+                    ids = new int[n];
+                    successorsStart = new int[n + 1];
+                    for(int i = 0; i < n; i++) {
+                        String[] tokens = nextDataLine(reader).split("\\s+");
+                        ids[i] = Integer.parseInt(tokens[0]) - 1;
+                        int nbSuccessors = Integer.parseInt(tokens[2]);
+                        for(int k = 0; k < nbSuccessors; k++) {
+                            successorsList.add(Integer.parseInt(tokens[3 + k]) - 1);
+                        }
+                        successorsStart[i + 1] = successorsList.size();
+                    }
+                } else if(line.startsWith("REQUESTS/DURATIONS")) {
+                    if(n < 0 || nbResources < 0) {
+                        throw new IOException("Number of jobs or resources not found before the requests in " + path);
+                    }
+                    nextDataLine(reader); // header
+                    durations = new int[n];
+                    consumptions = new int[n * nbResources];
+                    for(int i = 0; i < n; i++) {
+                        String[] tokens = nextDataLine(reader).split("\\s+");
+                        durations[i] = Integer.parseInt(tokens[2]);
+                        for(int r = 0; r < nbResources; r++) {
+                            consumptions[i * nbResources + r] = Integer.parseInt(tokens[3 + r]);
+                        }
+                    }
+                } else if(line.startsWith("RESOURCEAVAILABILITIES")) {
+                    nextDataLine(reader); // header
+                    String[] tokens = nextDataLine(reader).split("\\s+");
+                    capacities = new int[nbResources];
+                    for(int r = 0; r < nbResources; r++) {
+                        capacities[r] = Integer.parseInt(tokens[r]);
+                    }
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Malformed .sm file " + path, e);
+        }
+        if(ids == null || durations == null || capacities == null) {
+            throw new IOException("Missing section in .sm file " + path);
+        }
+        return new InstanceSP(
+            instanceName(path), "RCPSP", ids, durations, consumptions, successorsStart, successorsList.toArray(), capacities, horizon
+        );
+    }
+
+    /**
+     * Reads an instance from a Patterson .rcp file (as used by RG300 or CV libraries).
+     * As the format does not define any horizon, the sum of the durations is used.
+     *
+     * @param path the path of the .rcp file
+     * @return the instance
+     * @throws IOException if the file cannot be read or is not a valid .rcp file
+     */
+    public static InstanceSP readPatterson(String path) throws IOException {
+        try(BufferedReader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.ISO_8859_1)) {
+            Tokenizer tokenizer = new Tokenizer(reader);
+            int n = tokenizer.nextInt();
+            int nbResources = tokenizer.nextInt();
+            int[] capacities = new int[nbResources];
+            for(int r = 0; r < nbResources; r++) {
+                capacities[r] = tokenizer.nextInt();
+            }
+            int[] ids = new int[n];
+            int[] durations = new int[n];
+            int[] consumptions = new int[n * nbResources];
+            int[] successorsStart = new int[n + 1];
+            TIntArrayList successorsList = new TIntArrayList(3 * n);
+            int horizon = 0;
+            for(int i = 0; i < n; i++) {
+                ids[i] = i;
+                durations[i] = tokenizer.nextInt();
+                horizon += durations[i];
+                for(int r = 0; r < nbResources; r++) {
+                    consumptions[i * nbResources + r] = tokenizer.nextInt();
+                }
+                int nbSuccessors = tokenizer.nextInt();
+                for(int k = 0; k < nbSuccessors; k++) {
+                    successorsList.add(tokenizer.nextInt() - 1);
+                }
+                successorsStart[i + 1] = successorsList.size();
+            }
+            return new InstanceSP(
+                instanceName(path), "RCPSP", ids, durations, consumptions, successorsStart, successorsList.toArray(), capacities, horizon
+            );
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed .rcp file " + path, e);
+        }
+    }
+
+    /**
+     * Whitespace tokenizer over the lines of a reader, which makes the Patterson reader independent of line breaks.
+     */
+    private static class Tokenizer {
+        private final BufferedReader reader;
+        private String[] tokens = new String[0];
+        private int idx = 0;
+
+        private Tokenizer(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        private int nextInt() throws IOException {
+            while(idx == tokens.length) {
+                String line = reader.readLine();
+                if(line == null) {
+                    throw new IOException("Unexpected end of file");
+                }
+                line = line.trim();
+                tokens = line.isEmpty() ? new String[0] : line.split("\\s+");
+                idx = 0;
+            }
+            return Integer.parseInt(tokens[idx++]);
+        }
+    }
+}
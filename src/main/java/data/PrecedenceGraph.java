@@ -0,0 +1,168 @@
+/*
+@since 17/10/2026
+*/
+package data;
+
+import java.util.Arrays;
+
+/**
+ * Precedence graph between activities, stored in compressed sparse row (CSR) format in both directions.
+ * Nodes are the indices of the activities (not their ids). The graph is built in O(n + E) and is meant to be shared
+ * by all the consumers of an instance, so they should not modify the arrays it gives access to.
+ */
+public class PrecedenceGraph {
+    private final int n;
+    private final int[] successorsStart;
+    private final int[] successors;
+    private final int[] predecessorsStart;
+    private final int[] predecessors;
+
+    /**
+     * Creates the precedence graph from the successors lists (given as indices).
+     *
+     * @param successors the successors of each node
+     */
+    public PrecedenceGraph(int[][] successors) {
+        this.n = successors.length;
+        this.successorsStart = new int[n + 1];
+        for(int i = 0; i < n; i++) {
+            successorsStart[i + 1] = successorsStart[i] + successors[i].length;
+        }
+        this.successors = new int[successorsStart[n]];
+        for(int i = 0; i < n; i++) {
+            System.arraycopy(successors[i], 0, this.successors, successorsStart[i], successors[i].length);
+        }
+        this.predecessorsStart = new int[n + 1];
+        this.predecessors = new int[this.successors.length];
+        buildPredecessors();
+    }
+
+    /**
+     * Creates the precedence graph from the successors lists in CSR format (given as indices).
+     * The arrays are not copied.
+     *
+     * @param n the number of nodes
+     * @param successorsStart the offsets of the successors lists (of length n + 1)
+     * @param successors the concatenated successors lists
+     */
+    public PrecedenceGraph(int n, int[] successorsStart, int[] successors) {
+        this.n = n;
+        this.successorsStart = successorsStart;
+        this.successors = successors;
+        this.predecessorsStart = new int[n + 1];
+        this.predecessors = new int[successors.length];
+        buildPredecessors();
+    }
+
+    /**
+     * Builds the predecessors lists by counting sort on the arcs, such that each list is sorted increasingly.
+     */
+    private void buildPredecessors() {
+        for(int k = 0; k < successors.length; k++) {
+            predecessorsStart[successors[k] + 1]++;
+        }
+        for(int i = 0; i < n; i++) {
+            predecessorsStart[i + 1] += predecessorsStart[i];
+        }
+        int[] next = Arrays.copyOf(predecessorsStart, n);
+        for(int i = 0; i < n; i++) {
+            for(int k = successorsStart[i]; k < successorsStart[i + 1]; k++) {
+                predecessors[next[successors[k]]++] = i;
+            }
+        }
+    }
+
+    public int getNbNodes() {
+        return n;
+    }
+
+    public int getNbArcs() {
+        return successors.length;
+    }
+
+    public int getNbSuccessors(int i) {
+        return successorsStart[i + 1] - successorsStart[i];
+    }
+
+    /**
+     * Returns the k-th successor of node i.
+     *
+     * @param i the node
+     * @param k the rank of the successor, between 0 and getNbSuccessors(i) - 1
+     * @return the k-th successor of i
+     */
+    public int getSuccessor(int i, int k) {
+        return successors[successorsStart[i] + k];
+    }
+
+    public int getNbPredecessors(int i) {
+        return predecessorsStart[i + 1] - predecessorsStart[i];
+    }
+
+    /**
+     * Returns the k-th predecessor of node i.
+     *
+     * @param i the node
+     * @param k the rank of the predecessor, between 0 and getNbPredecessors(i) - 1
+     * @return the k-th predecessor of i
+     */
+    public int getPredecessor(int i, int k) {
+        return predecessors[predecessorsStart[i] + k];
+    }
+
+    /**
+     * Returns the nodes of the graph in a topological order (Kahn's algorithm).
+     *
+     * @return a topological order of the nodes
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public int[] topologicalOrder() {
+        int[] inDegree = new int[n];
+        int[] order = new int[n];
+        int last = 0;
+        for(int i = 0; i < n; i++) {
+            inDegree[i] = getNbPredecessors(i);
+            if(inDegree[i] == 0) {
+                order[last++] = i;
+            }
+        }
+        for(int first = 0; first < last; first++) {
+            int i = order[first];
+            for(int k = successorsStart[i]; k < successorsStart[i + 1]; k++) {
+                if(--inDegree[successors[k]] == 0) {
+                    order[last++] = successors[k];
+                }
+            }
+        }
+        if(last != n) {
+            throw new IllegalArgumentException("The precedence graph contains a cycle");
+        }
+        return order;
+    }
+
+    /**
+     * Returns the successors matrix, such that successors[i] contains the successors of node i.
+     *
+     * @return the successors matrix
+     */
+    public int[][] toSuccessorsMatrix() {
+        int[][] matrix = new int[n][];
+        for(int i = 0; i < n; i++) {
+            matrix[i] = Arrays.copyOfRange(successors, successorsStart[i], successorsStart[i + 1]);
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the predecessors matrix, such that predecessors[i] contains the predecessors of node i.
+     *
+     * @return the predecessors matrix
+     */
+    public int[][] toPredecessorsMatrix() {
+        int[][] matrix = new int[n][];
+        for(int i = 0; i < n; i++) {
+            matrix[i] = Arrays.copyOfRange(predecessors, predecessorsStart[i], predecessorsStart[i + 1]);
+        }
+        return matrix;
+    }
+}
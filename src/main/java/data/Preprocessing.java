@@ -0,0 +1,98 @@
+/*
+@since 17/10/2026
+*/
+package data;
+
+/**
+ * Preprocessing of an instance before building a model : computes the heads (earliest starts) and tails
+ * (longest duration from the start of an activity to the end of the project) along the precedence graph,
+ * and a lower bound of the makespan based on the critical path and on the energy of each resource.
+ * These values are used to tighten the initial domains of the variables.
+ */
+public class Preprocessing {
+    private final int horizon;
+    private final int[] heads;
+    private final int[] tails;
+    private final int criticalPathLength;
+    private final int energyLowerBound;
+
+    public Preprocessing(InstanceSP instance) {
+        int n = instance.getSize();
+        PrecedenceGraph graph = instance.getPrecedenceGraph();
+        this.horizon = instance.getHorizon();
+        this.heads = new int[n];
+        this.tails = new int[n];
+
+        int[] order = graph.topologicalOrder();
+        for(int k = 0; k < n; k++) {
+            int i = order[k];
+            int end = heads[i] + instance.getDuration(i);
+            for(int s = 0; s < graph.getNbSuccessors(i); s++) {
+                int succ = graph.getSuccessor(i, s);
+                heads[succ] = Math.max(heads[succ], end);
+            }
+        }
+        int cpl = 0;
+        for(int k = n - 1; k >= 0; k--) {
+            int i = order[k];
+            int tail = 0;
+            for(int s = 0; s < graph.getNbSuccessors(i); s++) {
+                tail = Math.max(tail, tails[graph.getSuccessor(i, s)]);
+            }
+            tails[i] = tail + instance.getDuration(i);
+            cpl = Math.max(cpl, heads[i] + tails[i]);
+        }
+        this.criticalPathLength = cpl;
+
+        int elb = 0;
+        for(int r = 0; r < instance.getNbResources(); r++) {
+            long energy = 0;
+            for(int i = 0; i < n; i++) {
+                energy += (long) instance.getDuration(i) * instance.getResourceConsumption(i, r);
+            }
+            int capacity = instance.getResourceAvailability(r);
+            if(capacity > 0) {
+                elb = (int) Math.max(elb, (energy + capacity - 1) / capacity);
+            }
+        }
+        this.energyLowerBound = elb;
+    }
+
+    /**
+     * Returns the earliest start of the activity at the given index, i.e. its head.
+     *
+     * @param idx the index of the activity
+     * @return the earliest start of the activity
+     */
+    public int getEarliestStart(int idx) {
+        return heads[idx];
+    }
+
+    /**
+     * Returns the latest start of the activity at the given index, i.e. the horizon minus its tail.
+     *
+     * @param idx the index of the activity
+     * @return the latest start of the activity
+     */
+    public int getLatestStart(int idx) {
+        return horizon - tails[idx];
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    public int getCriticalPathLength() {
+        return criticalPathLength;
+    }
+
+    /**
+     * Returns a lower bound of the makespan, which is the maximum between the critical path length
+     * and the energetic bound of each resource.
+     *
+     * @return a lower bound of the makespan
+     */
+    public int getMakespanLowerBound() {
+        return Math.max(criticalPathLength, energyLowerBound);
+    }
+}
@@ -5,6 +5,7 @@
 
 package leftShifted;
 
+import data.PrecedenceGraph;
 import java.util.Arrays;
 import org.chocosolver.memory.IStateBool;
 import org.chocosolver.memory.IStateInt;
@@ -28,7 +29,7 @@ public class PropOrderLeftShifted extends Propagator<IntVar> {
     protected final int[] duration;
     protected final int[][] heights;
     protected final int[] capacities;
-    protected final int[][] predecessors;
+    protected final PrecedenceGraph precedenceGraph;
 
     protected final int n;
     protected final int[] slb, sub;
@@ -41,14 +42,14 @@ public class PropOrderLeftShifted extends Propagator<IntVar> {
     protected final IStateInt idxCurrentOrder;
     protected final IStateBool[] isOrdered;
 
-    public PropOrderLeftShifted(IntVar[] order, IntVar[] starts, int[] duration, int[][] heights, int[] capacities, int[][] predecessors) {
+    public PropOrderLeftShifted(IntVar[] order, IntVar[] starts, int[] duration, int[][] heights, int[] capacities, PrecedenceGraph precedenceGraph) {
         super(ArrayUtils.append(order, starts), PropagatorPriority.QUADRATIC, false);
         this.order = order;
         this.starts = starts;
         this.duration = duration;
         this.heights = heights;
         this.capacities = capacities;
-        this.predecessors = predecessors;
+        this.precedenceGraph = precedenceGraph;
 
         n = order.length;
         slb = new int[n];
@@ -128,13 +129,14 @@ public class PropOrderLeftShifted extends Propagator<IntVar> {
 
     private int minAccValue(int v) {
         int m = min;
-        for(int k = 0; k < predecessors[v].length; k++) {
+        for(int k = 0; k < precedenceGraph.getNbPredecessors(v); k++) {
+            int p = precedenceGraph.getPredecessor(v, k);
             boolean alreadyPlaced = false;
             for(int i = 0; i < idxCurrentOrder.get() && !alreadyPlaced; i++) {
-                alreadyPlaced = predecessors[v][k] == order[i].getValue();
+                alreadyPlaced = p == order[i].getValue();
             }
             if(alreadyPlaced) {
-                m = Math.max(m, starts[predecessors[v][k]].getValue() + duration[predecessors[v][k]]);
+                m = Math.max(m, starts[p].getValue() + duration[p]);
             }
         }
         int formerM;
@@ -4,10 +4,12 @@
 */
 package main;
 
+import alldifferentprec.PrecedenceStructures;
 import alldifferentprec.PropAllDiffPrec;
-import data.Activity;
 import data.Factory;
 import data.InstanceSP;
+import data.PrecedenceGraph;
+import data.Preprocessing;
 import java.util.ArrayList;
 import java.util.Arrays;
 import leftShifted.PropOrderLeftShifted;
@@ -30,25 +32,30 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Task;
 
 public class RCPSPModel {
+    // system property giving the directory where the structures derived from the precedence graph are cached
+    public static final String CACHE_DIR_PROPERTY = "rcpsp.cacheDir";
+    // system property which, when set to true, makes PropAllDiffPrec propagate the precedences over the transitive reduction
+    public static final String TRANSITIVE_REDUCTION_PROPERTY = "rcpsp.transitiveReduction";
+
     private final Model model;
 
     public RCPSPModel(InstanceSP instance, ConfigurationSearch configuration) {
         this.model = new Model();
-        Task[] tasks = new Task[instance.getActivities().size()];
-        IntVar[] starts = new IntVar[instance.getActivities().size()];
-        int hor = instance.getHorizon();
+        Task[] tasks = new Task[instance.getSize()];
+        IntVar[] starts = new IntVar[instance.getSize()];
+        Preprocessing preprocessing = new Preprocessing(instance);
+        int hor = preprocessing.getHorizon();
         for(int k = 0; k< tasks.length; k++) {
-            Activity activity = instance.getActivities().get(k);
-            int d = activity.getDuration();
-            starts[k] = model.intVar("start[" + activity.getID() + "]", 0, hor - d);
+            int d = instance.getDuration(k);
+            starts[k] = model.intVar("start[" + instance.getID(k) + "]", preprocessing.getEarliestStart(k), preprocessing.getLatestStart(k));
             tasks[k] = new Task(starts[k], d);
         }
 
         // precedence relations
-        for(Activity j : instance.getActivities()) {
-            int idJ = j.getID();
-            for(int s : j.getSuccessors()) {
-                model.arithm(tasks[idJ].getEnd(), "<=", tasks[s].getStart()).post();
+        PrecedenceGraph precedenceGraph = instance.getPrecedenceGraph();
+        for(int k = 0; k < tasks.length; k++) {
+            for(int s = 0; s < precedenceGraph.getNbSuccessors(k); s++) {
+                model.arithm(tasks[k].getEnd(), "<=", tasks[precedenceGraph.getSuccessor(k, s)].getStart()).post();
             }
         }
 
@@ -59,7 +66,7 @@ public class RCPSPModel {
             taskVars.clear();
             heightVars.clear();
             for(int k = 0; k < tasks.length; k++) {
-                int resourceConsumption = instance.getActivities().get(k).getResourceConsumption()[i];
+                int resourceConsumption = instance.getResourceConsumption(k, i);
                 if(resourceConsumption > 0) {
                     IntVar height = model.intVar(resourceConsumption);
                     heightVars.add(height);
@@ -71,7 +78,7 @@ public class RCPSPModel {
             }
         }
 
-        IntVar makespan = model.intVar("makespan", 0, hor);
+        IntVar makespan = model.intVar("makespan", preprocessing.getMakespanLowerBound(), hor);
         model.max(makespan, Arrays.stream(tasks).map(Task::getEnd).toArray(IntVar[]::new)).post();
         model.setObjective(false, makespan);
 
@@ -82,9 +89,11 @@ public class RCPSPModel {
                 || configuration.equals(ConfigurationSearch.ALL_DIFF_PREC_DEC)
         ) {
             order = model.intVarArray("order", starts.length, 0, starts.length-1);
-            int[][] heights = new int[instance.getActivities().size()][];
+            int[][] heights = new int[instance.getSize()][instance.getNbResources()];
             for(int i = 0; i < heights.length; i++) {
-                heights[i] = instance.getActivities().get(i).getResourceConsumption();
+                for(int r = 0; r < heights[i].length; r++) {
+                    heights[i][r] = instance.getResourceConsumption(i, r);
+                }
             }
             PropOrderLeftShifted propOrderLeftShifted = new PropOrderLeftShifted(
                 order,
@@ -92,7 +101,7 @@ public class RCPSPModel {
                 Arrays.stream(tasks).mapToInt(t -> t.getDuration().getValue()).toArray(),
                 heights,
                 instance.getResourcesAvailabilities(),
-                instance.getPredecessors()
+                precedenceGraph
             );
             IntStrategy orderSmallest = Search.intVarSearch(
                 new InputOrder<>(model),
@@ -109,8 +118,12 @@ public class RCPSPModel {
                 }, order
             );
             IntVar[] indexes = model.intVarArray("indexes", order.length, 0, order.length - 1);
-            BoolVar[][] precedence = PropAllDiffPrec.buildPrecedenceVars(model, instance.getPredecessors(), instance.getSuccessors());
-            boolean[][] prec = PropAllDiffPrec.buildPrecedence(instance.getPredecessors(), instance.getSuccessors());
+            String cacheDir = System.getProperty(CACHE_DIR_PROPERTY);
+            PrecedenceStructures structures = cacheDir == null ?
+                PrecedenceStructures.compute(precedenceGraph) :
+                PrecedenceStructures.load(precedenceGraph, cacheDir);
+            boolean transitiveReduction = Boolean.getBoolean(TRANSITIVE_REDUCTION_PROPERTY);
+            BoolVar[][] precedence = PropAllDiffPrec.buildPrecedenceVars(model, structures.getPrecedence());
             for(int i = 0; i < precedence.length; i++) {
                 for(int j = 0; j < precedence.length; j++) {
                     if(i < j && !precedence[i][j].isInstantiated()) {
@@ -145,10 +158,10 @@ public class RCPSPModel {
                 list.add(new PropAllDiffBC(indexes));
             } else if(configuration.equals(ConfigurationSearch.ALL_DIFF_PREC)) {
                 list.add(new PropAllDiffBC(indexes));
-                list.add(new PropAllDiffPrec(indexes, prec, "BESSIERE"));
+                list.add(new PropAllDiffPrec(indexes, structures, "BESSIERE", transitiveReduction));
             } else {
                 list.add(new PropAllDiffAC(indexes, true));
-                list.add(new PropAllDiffPrec(indexes, prec, "GODET"));
+                list.add(new PropAllDiffPrec(indexes, structures, "GODET", transitiveReduction));
             }
 
             model.getSolver().setSearch(orderSmallest);
@@ -200,7 +213,7 @@ public class RCPSPModel {
     public static void main(String[] args) {
         ConfigurationSearch configuration = ConfigurationSearch.valueOf(args[0]);
         long timeLimitInMilliseconds = Long.parseLong(args[1]) * 60000;
-        InstanceSP instance = Factory.fromFile(args[2], InstanceSP.class);
+        InstanceSP instance = Factory.instanceFromFile(args[2]);
         RCPSPModel rcpspModel = new RCPSPModel(instance, configuration);
         Solver solver = rcpspModel.getModel().getSolver();
 